@@ -0,0 +1,109 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds synthetic calendars for the benchmarks. The same seed always gives the same calendar, so
+ * runs of different engines see the same data.
+ */
+public final class CalendarGenerator {
+  /**
+   * How long the generated events are, which controls how much they overlap. How busy a single
+   * person is also depends on the number of events per person.
+   */
+  public enum Density {
+    SPARSE(15, 30),
+    MEDIUM(30, 90),
+    DENSE(60, 240);
+
+    private final int minDuration;
+    private final int maxDuration;
+
+    Density(int minDuration, int maxDuration) {
+      this.minDuration = minDuration;
+      this.maxDuration = maxDuration;
+    }
+  }
+
+  // The largest number of attendees of a single generated event.
+  private static final int MAX_ATTENDEES_PER_EVENT = 4;
+
+  private final Random random;
+  private final int attendeeCount;
+
+  /**
+   * Creates a generator of calendars shared by {@code attendeeCount} people.
+   */
+  public CalendarGenerator(int attendeeCount, long seed) {
+    if (attendeeCount <= 0) {
+      throw new IllegalArgumentException("attendeeCount must be positive");
+    }
+
+    this.random = new Random(seed);
+    this.attendeeCount = attendeeCount;
+  }
+
+  /**
+   * Returns the name of attendee number {@code i}.
+   */
+  public static String attendee(int i) {
+    return "Person " + i;
+  }
+
+  /**
+   * Returns {@code eventCount} events spread over the day, each attended by one to four people.
+   */
+  public List<Event> events(int eventCount, Density density) {
+    List<Event> events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; ++i) {
+      int duration =
+          density.minDuration + random.nextInt(density.maxDuration - density.minDuration + 1);
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - duration + 1);
+      int attendees = 1 + random.nextInt(Math.min(MAX_ATTENDEES_PER_EVENT, attendeeCount));
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+          attendees(attendees)));
+    }
+    return events;
+  }
+
+  /**
+   * Returns a request for a meeting of {@code duration} minutes with {@code mandatory} people.
+   */
+  public MeetingRequest request(int mandatory, int duration) {
+    return new MeetingRequest(attendees(mandatory), duration);
+  }
+
+  /**
+   * Returns up to {@code count} different attendees, fewer if there are not that many people.
+   */
+  public Collection<String> attendees(int count) {
+    count = Math.min(count, attendeeCount);
+    Set<String> attendees = new LinkedHashSet<>();
+    while (attendees.size() < count) {
+      attendees.add(attendee(random.nextInt(attendeeCount)));
+    }
+    return attendees;
+  }
+}
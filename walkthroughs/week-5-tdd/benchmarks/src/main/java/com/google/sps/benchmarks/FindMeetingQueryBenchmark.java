@@ -0,0 +1,124 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.AttendeeIndex;
+import com.google.sps.AvailabilityEngine;
+import com.google.sps.BitsetEngine;
+import com.google.sps.Event;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.ForkJoinEngine;
+import com.google.sps.MeetingRequest;
+import com.google.sps.PrefixSumEngine;
+import com.google.sps.SweepLineEngine;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code FindMeetingQuery} on generated calendars, for every engine. Throughput and sample
+ * time (latency percentiles) are both reported; add {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindMeetingQueryBenchmark {
+  @Param({"10", "1000", "100000", "1000000"})
+  public int eventCount;
+
+  @Param({"1", "100", "10000"})
+  public int attendeeCount;
+
+  @Param({"SPARSE", "DENSE"})
+  public CalendarGenerator.Density density;
+
+  // fork-join-always forks every query, to find where forking starts to pay off on this machine
+  @Param({"prefix-sum", "bitset", "sweep-line", "fork-join", "fork-join-always"})
+  public String engine;
+
+  private List<Event> events;
+  private AttendeeIndex index;
+  private MeetingRequest request;
+  private MeetingRequest alignedRequest;
+  private Collection<String> optionalAttendees;
+  private FindMeetingQuery query;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    CalendarGenerator generator = new CalendarGenerator(attendeeCount, /* seed = */ 2020);
+    events = generator.events(eventCount, density);
+    index = new AttendeeIndex(events);
+    request = generator.request(/* mandatory = */ 3, /* duration = */ 30);
+    alignedRequest = new MeetingRequest(request.getAttendees(), request.getDuration());
+    alignedRequest.setAlignment(15);
+    optionalAttendees = generator.attendees(2);
+    query = new FindMeetingQuery(engine(engine));
+  }
+
+  static AvailabilityEngine engine(String name) {
+    switch (name) {
+      case "prefix-sum":
+        return new PrefixSumEngine();
+      case "bitset":
+        return new BitsetEngine();
+      case "sweep-line":
+        return new SweepLineEngine();
+      case "fork-join":
+        return new ForkJoinEngine();
+      case "fork-join-always":
+        return new ForkJoinEngine(ForkJoinPool.commonPool(), /* sequentialThreshold = */ 1);
+      default:
+        throw new IllegalArgumentException("Unknown engine: " + name);
+    }
+  }
+
+  @Benchmark
+  public Collection<TimeRange> query() {
+    return query.query(events, request, optionalAttendees);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryWithoutOptionalAttendees() {
+    return query.queryWithoutOptionalAttendees(events, request);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryIndexed() {
+    return query.query(index, request, optionalAttendees);
+  }
+
+  /** Same as {@code queryIndexed}, but the meeting starts on quarter hours. */
+  @Benchmark
+  public Collection<TimeRange> queryIndexedAligned() {
+    return query.query(index, alignedRequest, optionalAttendees);
+  }
+}
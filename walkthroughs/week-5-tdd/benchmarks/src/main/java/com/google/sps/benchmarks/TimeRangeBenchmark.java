@@ -0,0 +1,87 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.TimeRange;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the basic {@code TimeRange} operations over an array of random ranges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeRangeBenchmark {
+  @Param({"1024", "1048576"})
+  public int rangeCount;
+
+  private TimeRange[] ranges;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(/* seed = */ 2020);
+    ranges = new TimeRange[rangeCount];
+    for (int i = 0; i < rangeCount; ++i) {
+      ranges[i] = TimeRange.fromStartDuration(
+          random.nextInt(TimeRange.WHOLE_DAY.duration()), 1 + random.nextInt(120));
+    }
+  }
+
+  @Benchmark
+  public void overlaps(Blackhole blackhole) {
+    for (int i = 1; i < ranges.length; ++i) {
+      blackhole.consume(ranges[i - 1].overlaps(ranges[i]));
+    }
+  }
+
+  @Benchmark
+  public void contains(Blackhole blackhole) {
+    for (int i = 1; i < ranges.length; ++i) {
+      blackhole.consume(ranges[i - 1].contains(ranges[i]));
+    }
+  }
+
+  @Benchmark
+  public TimeRange[] sortByStart() {
+    TimeRange[] sorted = Arrays.copyOf(ranges, ranges.length);
+    Arrays.sort(sorted, TimeRange.ORDER_BY_START);
+    return sorted;
+  }
+
+  @Benchmark
+  public TimeRange[] sortByEnd() {
+    TimeRange[] sorted = Arrays.copyOf(ranges, ranges.length);
+    Arrays.sort(sorted, TimeRange.ORDER_BY_END);
+    return sorted;
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.loadtest;
+
+import com.google.sps.servlets.BatchQueryServlet;
+import com.google.sps.servlets.DeleteEventServlet;
+import com.google.sps.servlets.GetEventsServlet;
+import com.google.sps.servlets.JointQueryServlet;
+import com.google.sps.servlets.NewEventServlet;
+import com.google.sps.servlets.QueryCacheStatsServlet;
+import com.google.sps.servlets.QueryExecutorStatsServlet;
+import com.google.sps.servlets.QueryServlet;
+import com.google.sps.servlets.RoomQueryServlet;
+import com.google.sps.servlets.UpdateEventServlet;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+/**
+ * Runs the servlets of the week-5 project in an embedded Jetty server on localhost. The servlets
+ * are registered directly, so no war file or web.xml is needed.
+ */
+public final class CalendarServer {
+  private final Server server;
+
+  /**
+   * Creates a server on {@code port} of the loopback interface, or on any free port if {@code port}
+   * is 0. The server handles requests with at most {@code maxThreads} threads.
+   */
+  public CalendarServer(int port, int maxThreads) {
+    QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads);
+    threadPool.setName("calendar-server");
+    server = new Server(threadPool);
+
+    ServerConnector connector = new ServerConnector(server);
+    connector.setHost("localhost");
+    connector.setPort(port);
+    server.addConnector(connector);
+
+    ServletContextHandler context = new ServletContextHandler();
+    ServletHolder query = new ServletHolder(new QueryServlet());
+    // servlets added as instances do not have their annotations read
+    query.setAsyncSupported(true);
+    context.addServlet(query, "/query");
+    context.addServlet(new ServletHolder(new BatchQueryServlet()), "/batch-query");
+    context.addServlet(new ServletHolder(new JointQueryServlet()), "/joint-query");
+    context.addServlet(new ServletHolder(new RoomQueryServlet()), "/room-query");
+    context.addServlet(new ServletHolder(new GetEventsServlet()), "/get-events");
+    context.addServlet(new ServletHolder(new NewEventServlet()), "/new-event");
+    context.addServlet(new ServletHolder(new UpdateEventServlet()), "/update-event");
+    context.addServlet(new ServletHolder(new DeleteEventServlet()), "/delete-event");
+    context.addServlet(new ServletHolder(new QueryCacheStatsServlet()), "/query-cache-stats");
+    context.addServlet(
+        new ServletHolder(new QueryExecutorStatsServlet()), "/query-executor-stats");
+    server.setHandler(context);
+  }
+
+  /**
+   * Starts the server and returns the port it listens on.
+   */
+  public int start() throws Exception {
+    server.start();
+    return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+  }
+
+  /**
+   * Stops the server, waiting for the requests in flight.
+   */
+  public void stop() throws Exception {
+    server.stop();
+  }
+}
@@ -0,0 +1,150 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The latencies, in microseconds, and errors of a load test, per operation. Reports throughput and
+ * the p50, p90, p99 and p99.9 latencies, and saves them to files that later runs can be compared
+ * with.
+ */
+public final class LatencyReport {
+  // Latencies are recorded in microseconds and reported in milliseconds.
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private static final String CSV_HEADER = "time,label,operation,settings,seconds,requests,errors,"
+      + "throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+  private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+  private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+  /**
+   * Returns a histogram for latencies in microseconds with three significant digits.
+   */
+  public static Histogram newHistogram() {
+    Histogram histogram = new Histogram(3);
+    histogram.setAutoResize(true);
+    return histogram;
+  }
+
+  /**
+   * Adds the latencies and number of failed requests of one load-generating thread. Operations
+   * that were never sent are left out of the report.
+   */
+  public void add(Operation operation, Histogram latencies, long failed) {
+    if (latencies.getTotalCount() == 0 && failed == 0) {
+      return;
+    }
+    histograms.computeIfAbsent(operation, unused -> newHistogram()).add(latencies);
+    errors.merge(operation, failed, Long::sum);
+  }
+
+  /**
+   * Prints one line per operation, and one for all operations, for a run of {@code seconds}.
+   */
+  public void print(PrintStream out, double seconds) {
+    out.printf("%-18s %10s %8s %10s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors",
+        "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    for (Map.Entry<String, Histogram> row : rows().entrySet()) {
+      Histogram histogram = row.getValue();
+      out.printf("%-18s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n", row.getKey(),
+          histogram.getTotalCount(), errors(row.getKey()), histogram.getTotalCount() / seconds,
+          percentile(histogram, 50), percentile(histogram, 90), percentile(histogram, 99),
+          percentile(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+  }
+
+  /**
+   * Saves the run to {@code directory}: a summary in {@code <label>-<time>.txt}, the full percentile
+   * distribution of each operation in {@code <label>-<time>-<operation>.hgrm}, which the
+   * HdrHistogram plotter reads, and one line per operation appended to {@code summary.csv}.
+   * Returns the path of the summary.
+   */
+  public Path save(Path directory, String label, String settings, double seconds)
+      throws IOException {
+    Files.createDirectories(directory);
+    Date now = new Date();
+    String prefix = label + "-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(now);
+
+    Path summary = directory.resolve(prefix + ".txt");
+    try (PrintStream out = new PrintStream(Files.newOutputStream(summary), false, "UTF-8")) {
+      out.println(settings);
+      out.println();
+      print(out, seconds);
+    }
+
+    for (Map.Entry<String, Histogram> row : rows().entrySet()) {
+      Path distribution = directory.resolve(prefix + "-" + row.getKey() + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(distribution), false, "UTF-8")) {
+        row.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+
+    Path csv = directory.resolve("summary.csv");
+    StringBuilder lines = new StringBuilder();
+    if (!Files.exists(csv)) {
+      lines.append(CSV_HEADER).append('\n');
+    }
+    String time = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(now);
+    for (Map.Entry<String, Histogram> row : rows().entrySet()) {
+      Histogram histogram = row.getValue();
+      lines.append(String.format("%s,%s,%s,\"%s\",%.1f,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n", time,
+          label, row.getKey(), settings, seconds, histogram.getTotalCount(), errors(row.getKey()),
+          histogram.getTotalCount() / seconds, percentile(histogram, 50),
+          percentile(histogram, 90), percentile(histogram, 99), percentile(histogram, 99.9),
+          histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+    Files.write(csv, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+    return summary;
+  }
+
+  /**
+   * Returns the histogram of each operation by label, followed by the histogram of all of them.
+   */
+  private Map<String, Histogram> rows() {
+    Map<String, Histogram> rows = new LinkedHashMap<>();
+    Histogram all = newHistogram();
+    for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+      rows.put(entry.getKey().getLabel(), entry.getValue());
+      all.add(entry.getValue());
+    }
+    rows.put("all", all);
+    return rows;
+  }
+
+  private long errors(String label) {
+    if (label.equals("all")) {
+      return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+    return errors.getOrDefault(Operation.fromLabel(label), 0L);
+  }
+
+  private static double percentile(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+}
@@ -0,0 +1,285 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.loadtest;
+
+import com.google.sps.Event;
+import com.google.sps.json.CalendarJson;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Starts the calendar servlets in an embedded server, fills the calendar with generated events and
+ * sends a mix of requests from several threads. Prints the throughput and latency percentiles of
+ * each operation and saves them under the output directory.
+ *
+ * <p>Options are given as {@code --name=value}; see {@link #DEFAULTS}. With {@code --rate=0} each
+ * thread sends its next request as soon as the previous one is answered. With a positive rate the
+ * requests are sent on a fixed schedule and each latency is measured from when its request should
+ * have been sent, so that a slow response also counts against the requests queued behind it.
+ */
+public final class LoadTest {
+  /** The options and their default values. */
+  private static final String[][] DEFAULTS = {
+      {"threads", "8"},
+      {"rate", "0"},
+      {"warmup", "5"},
+      {"duration", "20"},
+      {"mix", "query=8,get-events=1,get-events-window=1"},
+      {"events", "1000"},
+      {"attendees", "100"},
+      {"requests", "1000"},
+      {"max-attendees", "3"},
+      {"server-threads", "200"},
+      {"port", "0"},
+      {"seed", "2020"},
+      {"label", "run"},
+      {"output", "results"},
+  };
+
+  // How many windows of the day /get-events is asked about.
+  private static final int WINDOW_COUNT = 100;
+
+  private final Map<String, String> options;
+  private final Operation.Mix mix;
+  private final List<String> requestBodies;
+  private final List<String> windows;
+  private String baseUrl;
+
+  private LoadTest(Map<String, String> options) {
+    this.options = options;
+    this.mix = Operation.Mix.parse(options.get("mix"));
+    Workload workload = new Workload(intOption("attendees"), longOption("seed"));
+    this.requestBodies =
+        workload.requestBodies(intOption("requests"), intOption("max-attendees"));
+    this.windows = workload.windows(WINDOW_COUNT);
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTest loadTest = new LoadTest(parseOptions(args));
+    loadTest.run();
+  }
+
+  private void run() throws Exception {
+    CalendarServer server = new CalendarServer(intOption("port"), intOption("server-threads"));
+    int port = server.start();
+    baseUrl = "http://localhost:" + port;
+    try {
+      seed();
+      LatencyReport report = measure();
+
+      double seconds = intOption("duration");
+      String settings = settings();
+      System.out.println(settings);
+      report.print(System.out, seconds);
+      Path summary =
+          report.save(Paths.get(options.get("output")), options.get("label"), settings, seconds);
+      System.out.println("Saved to " + summary);
+    } finally {
+      server.stop();
+    }
+  }
+
+  /**
+   * Adds the generated events to the calendar through {@code /new-event}.
+   */
+  private void seed() throws IOException {
+    Workload workload = new Workload(intOption("attendees"), longOption("seed"));
+    for (Event event : workload.events(intOption("events"))) {
+      int status = send(new URL(baseUrl + "/new-event"), CalendarJson.GSON.toJson(event));
+      if (status != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Adding an event failed with status " + status);
+      }
+    }
+  }
+
+  /**
+   * Runs the warmup and the measurement on all threads and returns their merged latencies.
+   */
+  private LatencyReport measure() throws Exception {
+    int threads = intOption("threads");
+    double rate = Double.parseDouble(options.get("rate"));
+    long interval = rate > 0 ? (long) (threads * TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+    long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(intOption("warmup"));
+    long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(intOption("duration"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<Worker>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; ++i) {
+      Worker worker = new Worker(new Random(longOption("seed") + i), interval, measureStart,
+          measureEnd);
+      futures.add(executor.submit(worker::call));
+    }
+
+    LatencyReport report = new LatencyReport();
+    try {
+      for (Future<Worker> future : futures) {
+        Worker worker = future.get();
+        for (Operation operation : Operation.values()) {
+          report.add(operation, worker.latencies.get(operation), worker.errors.get(operation));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return report;
+  }
+
+  /** Sends requests from one thread and records their latencies. */
+  private final class Worker {
+    private final Random random;
+    private final long interval;
+    private final long measureStart;
+    private final long measureEnd;
+    private final Map<Operation, Histogram> latencies = new HashMap<>();
+    private final Map<Operation, Long> errors = new HashMap<>();
+
+    Worker(Random random, long interval, long measureStart, long measureEnd) {
+      this.random = random;
+      this.interval = interval;
+      this.measureStart = measureStart;
+      this.measureEnd = measureEnd;
+      for (Operation operation : Operation.values()) {
+        latencies.put(operation, LatencyReport.newHistogram());
+        errors.put(operation, 0L);
+      }
+    }
+
+    Worker call() throws IOException {
+      // Spread the schedules of the threads over one interval.
+      long intended = System.nanoTime() + (long) (random.nextDouble() * interval);
+      while (true) {
+        long now = System.nanoTime();
+        if (interval > 0 && now < intended) {
+          LockSupport.parkNanos(intended - now);
+        }
+        long start = interval > 0 ? intended : System.nanoTime();
+        if (start >= measureEnd) {
+          return this;
+        }
+
+        Operation operation = mix.next(random);
+        boolean succeeded;
+        try {
+          succeeded = send(operation) == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+          succeeded = false;
+        }
+        long end = System.nanoTime();
+
+        if (start >= measureStart) {
+          if (succeeded) {
+            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(end - start));
+          } else {
+            errors.merge(operation, 1L, Long::sum);
+          }
+        }
+        intended += interval;
+      }
+    }
+
+    private int send(Operation operation) throws IOException {
+      switch (operation) {
+        case QUERY:
+          return LoadTest.this.send(new URL(baseUrl + "/query"),
+              requestBodies.get(random.nextInt(requestBodies.size())));
+        case GET_EVENTS:
+          return LoadTest.this.send(new URL(baseUrl + "/get-events"), null);
+        case GET_EVENTS_WINDOW:
+          return LoadTest.this.send(
+              new URL(baseUrl + "/get-events?" + windows.get(random.nextInt(windows.size()))),
+              null);
+        default:
+          throw new AssertionError(operation);
+      }
+    }
+  }
+
+  /**
+   * Sends a GET request, or a POST request if {@code body} is not null, and returns the status
+   * code. The response is read to the end so that the connection can be reused.
+   */
+  private int send(URL url, String body) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    if (body != null) {
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    int status = connection.getResponseCode();
+    try (InputStream in =
+        status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      if (in != null) {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {}
+      }
+    }
+    return status;
+  }
+
+  private String settings() {
+    StringBuilder settings = new StringBuilder();
+    for (String[] option : DEFAULTS) {
+      if (settings.length() > 0) {
+        settings.append(' ');
+      }
+      settings.append(option[0]).append('=').append(options.get(option[0]));
+    }
+    return settings.toString();
+  }
+
+  private int intOption(String name) {
+    return Integer.parseInt(options.get(name));
+  }
+
+  private long longOption(String name) {
+    return Long.parseLong(options.get(name));
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String[] option : DEFAULTS) {
+      options.put(option[0], option[1]);
+    }
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals < 0 || !options.containsKey(arg.substring(2, equals))) {
+        throw new IllegalArgumentException("Unknown option " + arg);
+      }
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    return options;
+  }
+}
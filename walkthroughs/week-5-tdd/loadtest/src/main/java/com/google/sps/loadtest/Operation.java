@@ -0,0 +1,127 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/** The kinds of request that a load test sends, and how often it sends each of them. */
+public enum Operation {
+  /** Posts a meeting request to {@code /query}. */
+  QUERY("query"),
+  /** Lists the whole calendar with {@code /get-events}. */
+  GET_EVENTS("get-events"),
+  /** Lists the events in a window of the day with {@code /get-events?start=...&end=...}. */
+  GET_EVENTS_WINDOW("get-events-window");
+
+  private final String label;
+
+  Operation(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Returns the name of this operation in mixes, reports and file names.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Returns the operation called {@code label}.
+   */
+  public static Operation fromLabel(String label) {
+    for (Operation operation : values()) {
+      if (operation.label.equals(label)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unknown operation " + label + ", expected one of " + Arrays.toString(labels()));
+  }
+
+  private static String[] labels() {
+    return Arrays.stream(values()).map(Operation::getLabel).toArray(String[]::new);
+  }
+
+  /** A weighted choice between operations, such as 8 queries for every 2 event listings. */
+  public static final class Mix {
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private Mix(Map<Operation, Integer> weights) {
+      this.weights = weights;
+      this.operations = weights.keySet().toArray(new Operation[0]);
+      this.cumulativeWeights = new int[operations.length];
+      int total = 0;
+      for (int i = 0; i < operations.length; ++i) {
+        total += weights.get(operations[i]);
+        cumulativeWeights[i] = total;
+      }
+    }
+
+    /**
+     * Parses a mix like {@code query=8,get-events=1,get-events-window=1}. Operations that are not
+     * listed are never chosen.
+     */
+    public static Mix parse(String mix) {
+      Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+      for (String entry : mix.split(",")) {
+        String[] parts = entry.trim().split("=");
+        if (parts.length != 2) {
+          throw new IllegalArgumentException("Expected operation=weight but got " + entry);
+        }
+        int weight = Integer.parseInt(parts[1].trim());
+        if (weight < 0) {
+          throw new IllegalArgumentException("Weights cannot be negative");
+        }
+        if (weight > 0) {
+          weights.merge(fromLabel(parts[0].trim()), weight, Integer::sum);
+        }
+      }
+      if (weights.isEmpty()) {
+        throw new IllegalArgumentException("The mix needs at least one operation");
+      }
+      return new Mix(weights);
+    }
+
+    /**
+     * Returns an operation at random, in proportion to the weights of the mix.
+     */
+    public Operation next(Random random) {
+      int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+      int i = 0;
+      while (cumulativeWeights[i] <= value) {
+        ++i;
+      }
+      return operations[i];
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder();
+      for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+        if (builder.length() > 0) {
+          builder.append(',');
+        }
+        builder.append(entry.getKey().label).append('=').append(entry.getValue());
+      }
+      return builder.toString();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.loadtest;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import com.google.sps.json.CalendarJson;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds the calendar and the requests of a load test. The same seed always gives the same
+ * workload, so that runs can be compared.
+ */
+public final class Workload {
+  // The largest number of attendees of a single generated event.
+  private static final int MAX_ATTENDEES_PER_EVENT = 4;
+
+  private final Random random;
+  private final int attendeeCount;
+
+  /**
+   * Creates a workload over a calendar shared by {@code attendeeCount} people.
+   */
+  public Workload(int attendeeCount, long seed) {
+    if (attendeeCount <= 0) {
+      throw new IllegalArgumentException("attendeeCount must be positive");
+    }
+
+    this.random = new Random(seed);
+    this.attendeeCount = attendeeCount;
+  }
+
+  /**
+   * Returns {@code eventCount} events spread over the day, each 15 minutes to two hours long and
+   * attended by one to four people.
+   */
+  public List<Event> events(int eventCount) {
+    List<Event> events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; ++i) {
+      int duration = 15 + random.nextInt(106);
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - duration + 1);
+      int attendees = 1 + random.nextInt(Math.min(MAX_ATTENDEES_PER_EVENT, attendeeCount));
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+          attendees(attendees)));
+    }
+    return events;
+  }
+
+  /**
+   * Returns the JSON bodies of {@code count} different meeting requests, each with one to
+   * {@code maxAttendees} mandatory people, up to two optional people and a duration of 15 minutes
+   * to two hours. Fewer distinct bodies mean more hits in the query cache.
+   */
+  public List<String> requestBodies(int count, int maxAttendees) {
+    List<String> bodies = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      Collection<String> attendees = attendees(1 + random.nextInt(maxAttendees));
+      MeetingRequest request = new MeetingRequest(attendees, 15 * (1 + random.nextInt(8)));
+      for (String optional : attendees(random.nextInt(3))) {
+        request.addOptionalAttendee(optional);
+      }
+      bodies.add(CalendarJson.GSON.toJson(request));
+    }
+    return bodies;
+  }
+
+  /**
+   * Returns the query strings of {@code count} windows of the day for {@code /get-events}.
+   */
+  public List<String> windows(int count) {
+    List<String> windows = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      int duration = 30 + random.nextInt(TimeRange.WHOLE_DAY.duration() / 4);
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - duration + 1);
+      windows.add("start=" + start + "&end=" + (start + duration));
+    }
+    return windows;
+  }
+
+  /**
+   * Returns up to {@code count} different attendees, fewer if there are not that many people.
+   */
+  private Collection<String> attendees(int count) {
+    count = Math.min(count, attendeeCount);
+    Set<String> attendees = new LinkedHashSet<>();
+    while (attendees.size() < count) {
+      attendees.add("Person " + random.nextInt(attendeeCount));
+    }
+    return attendees;
+  }
+}
@@ -0,0 +1,171 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps every attendee name to a small int id, so that sets of attendees can be stored as sorted int
+ * arrays and compared without hashing strings. Ids are handed out in order starting at 0 and are
+ * never reused, so the dictionary only grows.
+ */
+public final class AttendeeDictionary {
+  private static final AttendeeDictionary SHARED = new AttendeeDictionary();
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  // names[id] is the name of attendee id. Replaced by a larger copy when full.
+  private volatile String[] names = new String[64];
+  private volatile int size = 0;
+
+  /**
+   * Returns the dictionary used by every {@code Event}.
+   */
+  public static AttendeeDictionary shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the id of {@code name}, giving it a new id if it has none yet.
+   */
+  public int intern(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+
+    Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (this) {
+      id = ids.get(name);
+      if (id != null) {
+        return id;
+      }
+      int newId = size;
+      if (newId == names.length) {
+        names = Arrays.copyOf(names, names.length * 2);
+      }
+      // Publish the name before the id so that anyone who sees the id can also read the name.
+      names[newId] = name;
+      size = newId + 1;
+      ids.put(name, newId);
+      return newId;
+    }
+  }
+
+  /**
+   * Returns the id of {@code name}, or -1 if it has none.
+   */
+  public int idOf(String name) {
+    Integer id = ids.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the name of attendee {@code id}.
+   */
+  public String nameOf(int id) {
+    if (id < 0 || id >= size) {
+      throw new IllegalArgumentException("Unknown attendee id: " + id);
+    }
+    return names[id];
+  }
+
+  /**
+   * Returns the number of ids handed out so far.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the ids of {@code names} sorted and without duplicates, giving new ids to names that have
+   * none yet.
+   */
+  int[] internAll(Collection<String> names) {
+    int[] result = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      result[count++] = intern(name);
+    }
+    return sortedUnique(result, count);
+  }
+
+  /**
+   * Returns the ids of {@code names} sorted and without duplicates, leaving out the names that have
+   * no id. A name without an id does not attend any event, so it can never be busy.
+   */
+  int[] lookupAll(Collection<String> names) {
+    int[] result = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      int id = idOf(name);
+      if (id >= 0) {
+        result[count++] = id;
+      }
+    }
+    return sortedUnique(result, count);
+  }
+
+  /**
+   * Returns true iff the sorted arrays {@code a} and {@code b} have at least one id in common.
+   */
+  static boolean intersects(int[] a, int[] b) {
+    if (a.length > b.length) {
+      int[] swap = a;
+      a = b;
+      b = swap;
+    }
+    if (a.length == 0) {
+      return false;
+    }
+
+    // Looking up every id of a much smaller array is cheaper than walking both arrays.
+    if (a.length * 8 < b.length) {
+      for (int id : a) {
+        if (Arrays.binarySearch(b, id) >= 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] == b[j]) {
+        return true;
+      } else if (a[i] < b[j]) {
+        ++i;
+      } else {
+        ++j;
+      }
+    }
+    return false;
+  }
+
+  private static int[] sortedUnique(int[] ids, int count) {
+    Arrays.sort(ids, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; ++i) {
+      if (unique == 0 || ids[unique - 1] != ids[i]) {
+        ids[unique++] = ids[i];
+      }
+    }
+    return unique == ids.length ? ids : Arrays.copyOf(ids, unique);
+  }
+}
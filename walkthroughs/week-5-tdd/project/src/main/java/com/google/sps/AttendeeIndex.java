@@ -0,0 +1,84 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only index from every attendee to the times when they are busy, so that a query only has to
+ * look at the events of the people it asks about instead of scanning every event.
+ */
+public final class AttendeeIndex implements BusyCalendar {
+  private final Map<String, List<TimeRange>> busyRangesByAttendee = new HashMap<>();
+
+  /**
+   * Creates an index of {@code events}.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public AttendeeIndex(Collection<Event> events) {
+    this(events, null);
+  }
+
+  /**
+   * Creates an index of {@code events} that only holds the busy times of {@code attendees}. This
+   * reads every event once, so it is meant for answering a batch of queries that all ask about a
+   * known group of people.
+   *
+   * @param events The events to index. Must be non-null.
+   * @param attendees The people to index, or null to index everyone.
+   */
+  public AttendeeIndex(Collection<Event> events, Collection<String> attendees) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty array instead.");
+    }
+
+    Set<String> indexedAttendees = attendees == null ? null : new HashSet<>(attendees);
+    Map<String, List<TimeRange>> index = new HashMap<>();
+    for (Event event : events) {
+      for (String attendee : event.getAttendees()) {
+        if (indexedAttendees == null || indexedAttendees.contains(attendee)) {
+          index.computeIfAbsent(attendee, key -> new ArrayList<>()).add(event.getWhen());
+        }
+      }
+    }
+
+    // Sort every list by start time and freeze it so that readers can share it safely.
+    for (Map.Entry<String, List<TimeRange>> entry : index.entrySet()) {
+      List<TimeRange> busyRanges = entry.getValue();
+      busyRanges.sort(TimeRange.ORDER_BY_START);
+      busyRangesByAttendee.put(entry.getKey(), Collections.unmodifiableList(busyRanges));
+    }
+  }
+
+  @Override
+  public List<TimeRange> getBusyRanges(String attendee) {
+    return busyRangesByAttendee.getOrDefault(attendee, Collections.emptyList());
+  }
+
+  /**
+   * Returns a read-only view of the attendees that have at least one event.
+   */
+  public Collection<String> getAttendees() {
+    return Collections.unmodifiableSet(busyRangesByAttendee.keySet());
+  }
+}
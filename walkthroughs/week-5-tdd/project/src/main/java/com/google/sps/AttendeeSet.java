@@ -0,0 +1,96 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only set of attendee names stored as the sorted ids the names have in the shared
+ * {@code AttendeeDictionary}. It takes four bytes per attendee and can be intersected with another
+ * set of ids without hashing any string.
+ */
+final class AttendeeSet extends AbstractSet<String> {
+  private final int[] ids;
+
+  private AttendeeSet(int[] ids) {
+    this.ids = ids;
+  }
+
+  /**
+   * Returns the set of {@code names}, giving ids to the names that have none yet.
+   */
+  static AttendeeSet of(Collection<String> names) {
+    return new AttendeeSet(AttendeeDictionary.shared().internAll(names));
+  }
+
+  /**
+   * Returns true iff this set contains one of the sorted attendee ids {@code otherIds}.
+   */
+  boolean intersects(int[] otherIds) {
+    return AttendeeDictionary.intersects(ids, otherIds);
+  }
+
+  @Override
+  public boolean contains(Object name) {
+    if (!(name instanceof String)) {
+      return false;
+    }
+    int id = AttendeeDictionary.shared().idOf((String) name);
+    return id >= 0 && Arrays.binarySearch(ids, id) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return ids.length;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+      private int next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return next < ids.length;
+      }
+
+      @Override
+      public String next() {
+        if (next >= ids.length) {
+          throw new NoSuchElementException();
+        }
+        return AttendeeDictionary.shared().nameOf(ids[next++]);
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof AttendeeSet) {
+      // Equal names have equal ids, so comparing the arrays is enough.
+      return Arrays.equals(ids, ((AttendeeSet) other).ids);
+    }
+    return super.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    // Must match the hash code of any other set holding the same names.
+    return super.hashCode();
+  }
+}
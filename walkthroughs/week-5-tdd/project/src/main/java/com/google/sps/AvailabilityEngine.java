@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Strategy used by {@code FindMeetingQuery} to turn the times when the requested attendees are busy
+ * into the times of the day when the meeting can take place.
+ */
+public interface AvailabilityEngine {
+  /**
+   * Returns the time ranges of the day, in ascending order, that contain no part of
+   * {@code busyRanges} and last at least {@code duration} minutes. Busy ranges may overlap each
+   * other and may end after {@code TimeRange.END_OF_DAY}.
+   */
+  Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> busyRanges, int duration);
+
+  /**
+   * Same as {@code findAvailableTimeRanges(Collection<TimeRange>, int)}, where the busy ranges are
+   * the times of the events of {@code events} that at least one of {@code attendees} attends.
+   *
+   * <p>The default implementation collects those times first. Engines that can check the
+   * attendees of the events while counting should override it.
+   */
+  default Collection<TimeRange> findAvailableTimeRangesFor(Collection<Event> events,
+      Collection<String> attendees, int duration) {
+    return findAvailableTimeRanges(FindMeetingQuery.getBusyRanges(events, attendees), duration);
+  }
+
+  /**
+   * Returns the time ranges that contain no part of {@code mandatoryBusyRanges} or
+   * {@code optionalBusyRanges}. If there are none, returns the time ranges that only contain no part
+   * of {@code mandatoryBusyRanges}. Both answers last at least {@code duration} minutes.
+   *
+   * <p>The default implementation runs {@code findAvailableTimeRanges} once or twice. Engines that
+   * can count both kinds of busy ranges in the same pass should override it.
+   */
+  default Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration) {
+    Collection<TimeRange> allBusyRanges = new ArrayList<>(mandatoryBusyRanges);
+    allBusyRanges.addAll(optionalBusyRanges);
+    Collection<TimeRange> result = findAvailableTimeRanges(allBusyRanges, duration);
+    if (!result.isEmpty() || optionalBusyRanges.isEmpty()) {
+      return result;
+    }
+    return findAvailableTimeRanges(mandatoryBusyRanges, duration);
+  }
+
+  /**
+   * Same as {@code findAvailableTimeRanges(Collection<TimeRange>, Collection<TimeRange>, int)}, but
+   * appends the answer to {@code result} as packed ranges instead of returning it.
+   *
+   * <p>The default implementation packs the answer of that method. Engines that can write the
+   * packed ranges directly should override it, so that no {@code TimeRange} is allocated.
+   */
+  default void findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration, TimeRangeList result) {
+    for (TimeRange range :
+        findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, duration)) {
+      result.add(PackedTimeRange.of(range));
+    }
+  }
+}
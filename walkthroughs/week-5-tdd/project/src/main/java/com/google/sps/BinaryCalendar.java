@@ -0,0 +1,314 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Read-only calendar stored in a compact binary file that is memory-mapped instead of parsed, so
+ * opening it takes the same time however many events it holds, and the events live in the page
+ * cache rather than on the heap. Busy times are read straight from the mapped bytes when a query
+ * asks for them.
+ *
+ * <p>The file holds, in order and with every number a big-endian int:
+ * <ul>
+ *   <li>a header: magic number, format version, event count, attendee count, and the offsets of the
+ *       event records, the attendee records, the offset tables and the string table;
+ *   <li>one fixed-width record per event, sorted by start time: start, end and the offset of the
+ *       title in the string table;
+ *   <li>one fixed-width record per attendee, sorted by the UTF-8 bytes of the name: the offset of
+ *       the name in the string table, and the position and length of the attendee's offset table;
+ *   <li>the offset tables: for every attendee, the indexes of their events, in start order;
+ *   <li>the string table: every title and name as its length in bytes followed by its UTF-8 bytes.
+ * </ul>
+ *
+ * <p>A mapped file cannot exceed 2GB.
+ */
+public final class BinaryCalendar implements BusyCalendar {
+  private static final int MAGIC = 0x43414c31; // "CAL1"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 8 * Integer.BYTES;
+  private static final int EVENT_RECORD_BYTES = 3 * Integer.BYTES;
+  private static final int ATTENDEE_RECORD_BYTES = 3 * Integer.BYTES;
+
+  private final ByteBuffer buffer;
+  private final int eventCount;
+  private final int attendeeCount;
+  private final int eventsOffset;
+  private final int attendeesOffset;
+  private final int postingsOffset;
+  private final int stringsOffset;
+
+  private BinaryCalendar(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a binary calendar");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported binary calendar version: " + buffer.getInt(4));
+    }
+
+    this.buffer = buffer;
+    this.eventCount = buffer.getInt(8);
+    this.attendeeCount = buffer.getInt(12);
+    this.eventsOffset = buffer.getInt(16);
+    this.attendeesOffset = buffer.getInt(20);
+    this.postingsOffset = buffer.getInt(24);
+    this.stringsOffset = buffer.getInt(28);
+  }
+
+  /**
+   * Maps the calendar stored in {@code file}. The file must not change while the calendar is in use.
+   */
+  public static BinaryCalendar open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed.
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new BinaryCalendar(buffer);
+    }
+  }
+
+  /**
+   * Writes {@code events} to {@code file} in the format read by {@code open}.
+   */
+  public static void write(Collection<Event> events, Path file) throws IOException {
+    List<Event> sortedEvents = new ArrayList<>(events);
+    sortedEvents.sort((a, b) -> TimeRange.ORDER_BY_START.compare(a.getWhen(), b.getWhen()));
+
+    // Collect the strings and the events of every attendee.
+    List<byte[]> strings = new ArrayList<>();
+    int[] titleOffsets = new int[sortedEvents.size()];
+    int stringBytes = 0;
+    Map<String, List<Integer>> eventsByAttendee = new HashMap<>();
+    for (int i = 0; i < sortedEvents.size(); ++i) {
+      Event event = sortedEvents.get(i);
+      byte[] title = event.getTitle().getBytes(StandardCharsets.UTF_8);
+      titleOffsets[i] = stringBytes;
+      strings.add(title);
+      stringBytes += Integer.BYTES + title.length;
+      for (String attendee : event.getAttendees()) {
+        eventsByAttendee.computeIfAbsent(attendee, key -> new ArrayList<>()).add(i);
+      }
+    }
+    List<byte[]> names = new ArrayList<>();
+    for (String attendee : eventsByAttendee.keySet()) {
+      names.add(attendee.getBytes(StandardCharsets.UTF_8));
+    }
+    names.sort(BinaryCalendar::compareBytes);
+
+    int postingCount = 0;
+    for (List<Integer> attendeeEvents : eventsByAttendee.values()) {
+      postingCount += attendeeEvents.size();
+    }
+    long eventsOffset = HEADER_BYTES;
+    long attendeesOffset = eventsOffset + (long) sortedEvents.size() * EVENT_RECORD_BYTES;
+    long postingsOffset = attendeesOffset + (long) names.size() * ATTENDEE_RECORD_BYTES;
+    long stringsOffset = postingsOffset + (long) postingCount * Integer.BYTES;
+    long nameBytes = 0;
+    for (byte[] name : names) {
+      nameBytes += Integer.BYTES + name.length;
+    }
+    if (stringsOffset + stringBytes + nameBytes > Integer.MAX_VALUE) {
+      throw new IOException("Calendar too large for a binary calendar");
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(sortedEvents.size());
+      out.writeInt(names.size());
+      out.writeInt((int) eventsOffset);
+      out.writeInt((int) attendeesOffset);
+      out.writeInt((int) postingsOffset);
+      out.writeInt((int) stringsOffset);
+
+      for (int i = 0; i < sortedEvents.size(); ++i) {
+        TimeRange when = sortedEvents.get(i).getWhen();
+        out.writeInt(when.start());
+        out.writeInt(when.end());
+        out.writeInt(titleOffsets[i]);
+      }
+
+      // The names follow the titles in the string table.
+      int nameOffset = stringBytes;
+      int postingIndex = 0;
+      for (byte[] name : names) {
+        int count = eventsByAttendee.get(new String(name, StandardCharsets.UTF_8)).size();
+        out.writeInt(nameOffset);
+        out.writeInt(postingIndex);
+        out.writeInt(count);
+        nameOffset += Integer.BYTES + name.length;
+        postingIndex += count;
+      }
+
+      for (byte[] name : names) {
+        for (int event : eventsByAttendee.get(new String(name, StandardCharsets.UTF_8))) {
+          out.writeInt(event);
+        }
+      }
+
+      strings.addAll(names);
+      for (byte[] string : strings) {
+        out.writeInt(string.length);
+        out.write(string);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events in the calendar.
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Returns the number of attendees with at least one event.
+   */
+  public int getAttendeeCount() {
+    return attendeeCount;
+  }
+
+  /**
+   * Returns when event {@code event} takes place. Events are numbered by start time from 0.
+   */
+  public TimeRange getEventTime(int event) {
+    checkEvent(event);
+    int record = eventsOffset + event * EVENT_RECORD_BYTES;
+    return TimeRange.fromStartEnd(buffer.getInt(record), buffer.getInt(record + 4), false);
+  }
+
+  /**
+   * Returns the title of event {@code event}. Events are numbered by start time from 0.
+   */
+  public String getEventTitle(int event) {
+    checkEvent(event);
+    return readString(buffer.getInt(eventsOffset + event * EVENT_RECORD_BYTES + 8));
+  }
+
+  /**
+   * Returns a read-only view of the times when {@code attendee} is busy, sorted by start time. Each
+   * time range is read from the file when the view is accessed.
+   */
+  @Override
+  public List<TimeRange> getBusyRanges(String attendee) {
+    int record = findAttendee(attendee.getBytes(StandardCharsets.UTF_8));
+    if (record < 0) {
+      return Collections.emptyList();
+    }
+    int postings = postingsOffset + buffer.getInt(record + 4) * Integer.BYTES;
+    int count = buffer.getInt(record + 8);
+    return new BusyRanges(postings, count);
+  }
+
+  /** Returns the offset of the record of the attendee named {@code name}, or -1 if there is none. */
+  private int findAttendee(byte[] name) {
+    int low = 0;
+    int high = attendeeCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int record = attendeesOffset + middle * ATTENDEE_RECORD_BYTES;
+      int comparison = compareName(buffer.getInt(record), name);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle;
+      } else {
+        return record;
+      }
+    }
+    return -1;
+  }
+
+  /** Compares the name at {@code offset} in the string table to {@code name} without decoding it. */
+  private int compareName(int offset, byte[] name) {
+    int position = stringsOffset + offset;
+    int length = buffer.getInt(position);
+    position += Integer.BYTES;
+    for (int i = 0; i < Math.min(length, name.length); ++i) {
+      int comparison = Integer.compare(buffer.get(position + i) & 0xff, name[i] & 0xff);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(length, name.length);
+  }
+
+  private String readString(int offset) {
+    int position = stringsOffset + offset;
+    byte[] bytes = new byte[buffer.getInt(position)];
+    for (int i = 0; i < bytes.length; ++i) {
+      bytes[i] = buffer.get(position + Integer.BYTES + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private void checkEvent(int event) {
+    if (event < 0 || event >= eventCount) {
+      throw new IllegalArgumentException("Unknown event: " + event);
+    }
+  }
+
+  private static int compareBytes(byte[] a, byte[] b) {
+    for (int i = 0; i < Math.min(a.length, b.length); ++i) {
+      int comparison = Integer.compare(a[i] & 0xff, b[i] & 0xff);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(a.length, b.length);
+  }
+
+  /** The busy times of one attendee, read from their offset table on access. */
+  private final class BusyRanges extends AbstractList<TimeRange> implements RandomAccess {
+    private final int postings;
+    private final int count;
+
+    BusyRanges(int postings, int count) {
+      this.postings = postings;
+      this.count = count;
+    }
+
+    @Override
+    public TimeRange get(int index) {
+      if (index < 0 || index >= count) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + count);
+      }
+      int record = eventsOffset + buffer.getInt(postings + index * Integer.BYTES) * EVENT_RECORD_BYTES;
+      return TimeRange.fromStartEnd(buffer.getInt(record), buffer.getInt(record + 4), false);
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds the available time ranges with a bitset of the busy minutes of the day. Busy ranges are
+ * OR-ed into the bitset one word at a time, and the free and busy runs are found by jumping to the
+ * next set or cleared bit instead of visiting every minute, so no boxed value is ever created.
+ */
+public final class BitsetEngine implements AvailabilityEngine {
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> busyRanges, int duration) {
+    BusyMask busy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (TimeRange when : busyRanges) {
+      busy.markBusy(when.start(), when.end());
+    }
+    return findAvailableTimeRanges(busy, duration);
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration) {
+    TimeRangeList result = new TimeRangeList();
+    findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, duration, result);
+    return result.toTimeRanges();
+  }
+
+  @Override
+  public void findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration, TimeRangeList result) {
+    BusyMask mandatoryBusy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (TimeRange when : mandatoryBusyRanges) {
+      mandatoryBusy.markBusy(when.start(), when.end());
+    }
+    BusyMask allBusy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (TimeRange when : optionalBusyRanges) {
+      allBusy.markBusy(when.start(), when.end());
+    }
+    allBusy.or(mandatoryBusy);
+
+    int size = result.size();
+    findAvailableTimeRanges(allBusy, duration, result);
+    if (result.size() == size) {
+      findAvailableTimeRanges(mandatoryBusy, duration, result);
+    }
+  }
+
+  /**
+   * Returns the free runs of {@code busy} that last at least {@code duration} slots.
+   */
+  static List<TimeRange> findAvailableTimeRanges(BusyMask busy, int duration) {
+    TimeRangeList result = new TimeRangeList();
+    findAvailableTimeRanges(busy, duration, result);
+    return result.toTimeRanges();
+  }
+
+  /**
+   * Appends the free runs of {@code busy} that last at least {@code duration} slots to
+   * {@code result}.
+   */
+  static void findAvailableTimeRanges(BusyMask busy, int duration, TimeRangeList result) {
+    int freeStart = busy.nextFree(0);
+    while (freeStart < busy.size()) {
+      int freeEnd = busy.nextBusy(freeStart);
+      if (freeEnd - freeStart >= duration) {
+        result.add(freeStart, freeEnd);
+      }
+      freeStart = busy.nextFree(freeEnd);
+    }
+  }
+}
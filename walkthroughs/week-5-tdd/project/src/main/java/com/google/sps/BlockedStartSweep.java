@@ -0,0 +1,206 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Counts, for every minute a meeting could start at, the total weight of the attendees who are
+ * busy at some point during the meeting. An attendee busy during [a, b) cannot attend a meeting of
+ * length d starting anywhere in (a - d, b), so each attendee's busy ranges are widened to the start
+ * times they block, merged so that nobody is counted twice, and then all attendees are added up in
+ * a single sweep. The cost depends on the number of busy ranges, not on the number of attendees or
+ * on the combinations of attendees.
+ *
+ * <p>The result is a sequence of segments of consecutive start times that share the same count.
+ */
+final class BlockedStartSweep {
+  private final int duration;
+  // Segment i holds the start times [segmentStarts[i], segmentStarts[i + 1]), the last segment ends
+  // at lastStart + 1.
+  private final int[] segmentStarts;
+  private final long[] segmentCounts;
+  private final int segments;
+  private final int lastStart;
+
+  private BlockedStartSweep(
+      int duration, int[] segmentStarts, long[] segmentCounts, int segments, int lastStart) {
+    this.duration = duration;
+    this.segmentStarts = segmentStarts;
+    this.segmentCounts = segmentCounts;
+    this.segments = segments;
+    this.lastStart = lastStart;
+  }
+
+  /**
+   * Counts the blocked start times of a meeting lasting {@code duration} minutes that has to fit in
+   * the day. Attendee i is busy during {@code busyRanges.get(i)} and counts {@code weights[i]}.
+   */
+  static BlockedStartSweep count(
+      List<? extends Collection<TimeRange>> busyRanges, long[] weights, int duration) {
+    // A meeting needs at least one minute to be able to clash with anything.
+    duration = Math.max(duration, 1);
+    int lastStart = TimeRange.WHOLE_DAY.end() - duration;
+
+    // Every change of the count is encoded as (start time << 32 | index of its weight delta) so that
+    // sorting the changes by start time is a sort of primitive longs.
+    long[] changes = new long[16];
+    long[] deltas = new long[16];
+    int changeCount = 0;
+    for (int attendee = 0; attendee < busyRanges.size(); ++attendee) {
+      long[] blocked = blockedStarts(busyRanges.get(attendee), duration, lastStart);
+      if (changeCount + blocked.length > changes.length) {
+        int capacity = Math.max(changes.length * 2, changeCount + blocked.length);
+        changes = Arrays.copyOf(changes, capacity);
+        deltas = Arrays.copyOf(deltas, capacity);
+      }
+      for (int i = 0; i < blocked.length; ++i) {
+        // Even entries open a blocked range, odd entries close it.
+        deltas[changeCount] = i % 2 == 0 ? weights[attendee] : -weights[attendee];
+        changes[changeCount] = blocked[i] << 32 | changeCount;
+        ++changeCount;
+      }
+    }
+    Arrays.sort(changes, 0, changeCount);
+
+    int[] segmentStarts = new int[changeCount + 1];
+    long[] segmentCounts = new long[changeCount + 1];
+    int segments = 0;
+    long count = 0;
+    int position = 0;
+    int change = 0;
+    while (position <= lastStart) {
+      // Apply every change that happens at this start time before opening a new segment.
+      while (change < changeCount && (int) (changes[change] >>> 32) == position) {
+        count += deltas[(int) changes[change]];
+        ++change;
+      }
+      if (segments == 0 || segmentCounts[segments - 1] != count) {
+        segmentStarts[segments] = position;
+        segmentCounts[segments] = count;
+        ++segments;
+      }
+      position = change < changeCount ? (int) (changes[change] >>> 32) : lastStart + 1;
+    }
+    return new BlockedStartSweep(duration, segmentStarts, segmentCounts, segments, lastStart);
+  }
+
+  /**
+   * Returns the start times blocked by {@code busyRanges} as sorted, disjoint [start, end) pairs
+   * flattened into one array and clipped to [0, {@code lastStart}].
+   */
+  private static long[] blockedStarts(Collection<TimeRange> busyRanges, int duration, int lastStart) {
+    long[] blocked = new long[busyRanges.size() * 2];
+    int count = 0;
+    for (TimeRange when : busyRanges) {
+      if (when.duration() <= 0) {
+        continue;
+      }
+      long start = Math.max(0, (long) when.start() - duration + 1);
+      long end = Math.min((long) lastStart + 1, when.end());
+      if (start < end) {
+        blocked[count++] = start;
+        blocked[count++] = end;
+      }
+    }
+
+    // Sort the ranges by start (the pairs are packed into one long each) and merge the overlaps.
+    long[] packed = new long[count / 2];
+    for (int i = 0; i < packed.length; ++i) {
+      packed[i] = blocked[2 * i] << 32 | blocked[2 * i + 1];
+    }
+    Arrays.sort(packed);
+
+    int merged = 0;
+    for (long range : packed) {
+      long start = range >>> 32;
+      long end = range & 0xffffffffL;
+      if (merged > 0 && start <= blocked[merged - 1]) {
+        blocked[merged - 1] = Math.max(blocked[merged - 1], end);
+      } else {
+        blocked[merged++] = start;
+        blocked[merged++] = end;
+      }
+    }
+    return Arrays.copyOf(blocked, merged);
+  }
+
+  /**
+   * Returns the number of segments. Consecutive segments have different counts.
+   */
+  int segments() {
+    return segments;
+  }
+
+  /**
+   * Returns the first start time of segment {@code i}.
+   */
+  int segmentStart(int i) {
+    return segmentStarts[i];
+  }
+
+  /**
+   * Returns one past the last start time of segment {@code i}.
+   */
+  int segmentEnd(int i) {
+    return i + 1 < segments ? segmentStarts[i + 1] : lastStart + 1;
+  }
+
+  /**
+   * Returns the total weight of the attendees who cannot attend a meeting starting in segment
+   * {@code i}.
+   */
+  long segmentCount(int i) {
+    return segmentCounts[i];
+  }
+
+  /**
+   * Returns the smallest count of any start time, or {@code Long.MAX_VALUE} if the meeting does not
+   * fit in the day at all.
+   */
+  long minimumCount() {
+    long minimum = Long.MAX_VALUE;
+    for (int i = 0; i < segments; ++i) {
+      minimum = Math.min(minimum, segmentCounts[i]);
+    }
+    return minimum;
+  }
+
+  /**
+   * Returns the time ranges, in ascending order, covered by meetings starting at a time whose count
+   * is at most {@code maximumCount}. Every meeting that starts in one of the ranges and lasts the
+   * requested duration fits in it.
+   */
+  List<TimeRange> rangesWithCountAtMost(long maximumCount) {
+    List<TimeRange> ranges = new ArrayList<>();
+    int i = 0;
+    while (i < segments) {
+      if (segmentCounts[i] > maximumCount) {
+        ++i;
+        continue;
+      }
+      int firstStart = segmentStarts[i];
+      while (i < segments && segmentCounts[i] <= maximumCount) {
+        ++i;
+      }
+      int lastStartInRun = segmentEnd(i - 1) - 1;
+      ranges.add(TimeRange.fromStartEnd(firstStart, lastStartInRun + duration, false));
+    }
+    return ranges;
+  }
+}
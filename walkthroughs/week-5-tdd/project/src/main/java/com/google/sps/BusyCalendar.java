@@ -0,0 +1,43 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Source of the times when attendees are busy, as read by the queries of {@code FindMeetingQuery}.
+ * {@code AttendeeIndex} keeps them on the heap and {@code BinaryCalendar} reads them from a
+ * memory-mapped file.
+ */
+public interface BusyCalendar {
+  /**
+   * Returns a read-only list of the times when {@code attendee} is busy, sorted by start time. The
+   * list is empty if {@code attendee} does not attend any event.
+   */
+  List<TimeRange> getBusyRanges(String attendee);
+
+  /**
+   * Returns the times when at least one of {@code attendees} is busy. A time range is listed once
+   * for every requested attendee of the event, so the result can contain duplicates.
+   */
+  default List<TimeRange> getBusyRanges(Collection<String> attendees) {
+    List<TimeRange> busyRanges = new ArrayList<>();
+    for (String attendee : attendees) {
+      busyRanges.addAll(getBusyRanges(attendee));
+    }
+    return busyRanges;
+  }
+}
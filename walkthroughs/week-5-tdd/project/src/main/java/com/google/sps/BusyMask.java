@@ -0,0 +1,156 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+
+/**
+ * A fixed number of time slots packed 64 to a {@code long}, where a set bit means that the slot is
+ * busy. Ranges are marked and searched a whole word at a time instead of slot by slot.
+ */
+final class BusyMask {
+  private static final int WORD_BITS = 64;
+
+  private final int size;
+  private final long[] words;
+
+  /**
+   * Creates a mask of {@code size} slots that are all free.
+   */
+  BusyMask(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size cannot be negative");
+    }
+
+    this.size = size;
+    this.words = new long[(size + WORD_BITS - 1) / WORD_BITS];
+  }
+
+  /**
+   * Creates a mask with the same slots busy as {@code other}.
+   */
+  BusyMask(BusyMask other) {
+    this.size = other.size;
+    this.words = other.words.clone();
+  }
+
+  /**
+   * Returns the number of slots in this mask.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of busy slots.
+   */
+  int countBusy() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Marks the slots in [{@code start}, {@code end}) as busy. The parts of the range that fall
+   * outside of the mask are ignored.
+   */
+  void markBusy(int start, int end) {
+    start = Math.max(start, 0);
+    end = Math.min(end, size);
+    if (start >= end) {
+      return;
+    }
+
+    int firstWord = start / WORD_BITS;
+    int lastWord = (end - 1) / WORD_BITS;
+    // Shifts only use the lowest 6 bits of the distance, so these keep the bits at and above start
+    // in the first word and the bits below end in the last word.
+    long firstMask = -1L << start;
+    long lastMask = -1L >>> -end;
+
+    if (firstWord == lastWord) {
+      words[firstWord] |= firstMask & lastMask;
+      return;
+    }
+    words[firstWord] |= firstMask;
+    Arrays.fill(words, firstWord + 1, lastWord, -1L);
+    words[lastWord] |= lastMask;
+  }
+
+  /**
+   * Marks every slot that is busy in {@code other} as busy in this mask as well.
+   */
+  void or(BusyMask other) {
+    if (other.size != size) {
+      throw new IllegalArgumentException("masks must have the same size");
+    }
+
+    for (int i = 0; i < words.length; ++i) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  /**
+   * Returns true iff {@code slot} is busy.
+   */
+  boolean isBusy(int slot) {
+    return (words[slot / WORD_BITS] & (1L << slot)) != 0;
+  }
+
+  /**
+   * Returns true iff no slot in [{@code start}, {@code end}) is busy.
+   */
+  boolean isFree(int start, int end) {
+    return nextBusy(start) >= end;
+  }
+
+  /**
+   * Returns the first busy slot at or after {@code from}, or {@code size()} if there is none.
+   */
+  int nextBusy(int from) {
+    return nextSlot(from, 0L);
+  }
+
+  /**
+   * Returns the first free slot at or after {@code from}, or {@code size()} if there is none.
+   */
+  int nextFree(int from) {
+    return nextSlot(from, -1L);
+  }
+
+  /**
+   * Finds the first set bit at or after {@code from} once every word is flipped by {@code flip},
+   * skipping over whole words that have no such bit.
+   */
+  private int nextSlot(int from, long flip) {
+    from = Math.max(from, 0);
+    if (from >= size) {
+      return size;
+    }
+
+    int wordIndex = from / WORD_BITS;
+    long word = (words[wordIndex] ^ flip) & (-1L << from);
+    while (word == 0) {
+      if (++wordIndex == words.length) {
+        return size;
+      }
+      word = words[wordIndex] ^ flip;
+    }
+    // The unused bits of the last word are never busy, so a free slot found there is past the end.
+    return Math.min(size, wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word));
+  }
+}
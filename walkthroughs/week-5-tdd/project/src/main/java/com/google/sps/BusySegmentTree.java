@@ -0,0 +1,239 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * Counts how many meetings cover each of a fixed number of time slots, in a segment tree with lazy
+ * propagation. Adding or removing a meeting and finding the next free window both take O(log n)
+ * time, so a calendar that changes often never has to be counted again from scratch.
+ *
+ * <p>Every node keeps the smallest count in its slots and the longest runs of slots with that count
+ * at its start, at its end and anywhere inside it. A node whose smallest count is 0 thus knows its
+ * free runs, and adding the same amount to all of its slots leaves the runs as they are.
+ */
+final class BusySegmentTree {
+  private final int size;
+  // pending amount to add to both children of a node
+  private final int[] lazy;
+  private final int[] min;
+  // longest runs of slots whose count is min, at the start, at the end and anywhere in a node
+  private final int[] prefix;
+  private final int[] suffix;
+  private final int[] best;
+
+  /**
+   * Creates a tree of {@code size} slots that are all free.
+   */
+  BusySegmentTree(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("size must be positive");
+    }
+
+    this.size = size;
+    int nodes = 4 * size;
+    this.lazy = new int[nodes];
+    this.min = new int[nodes];
+    this.prefix = new int[nodes];
+    this.suffix = new int[nodes];
+    this.best = new int[nodes];
+    build(1, 0, size);
+  }
+
+  /**
+   * Returns the number of slots in this tree.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds {@code delta} meetings to every slot in [{@code start}, {@code end}). The parts of the range
+   * that fall outside of the tree are ignored. A negative {@code delta} removes meetings, and throws
+   * an {@code IllegalArgumentException} if some slot would be left with fewer than 0.
+   */
+  void add(int start, int end, int delta) {
+    start = Math.max(start, 0);
+    end = Math.min(end, size);
+    if (start >= end || delta == 0) {
+      return;
+    }
+
+    update(1, 0, size, start, end, delta);
+    if (min[1] < 0) {
+      update(1, 0, size, start, end, -delta);
+      throw new IllegalArgumentException("cannot remove a meeting that was not added");
+    }
+  }
+
+  /**
+   * Returns the number of meetings during {@code slot}.
+   */
+  int count(int slot) {
+    if (slot < 0 || slot >= size) {
+      throw new IllegalArgumentException("slot is outside of the tree");
+    }
+
+    int node = 1;
+    int lo = 0;
+    int hi = size;
+    while (hi - lo > 1) {
+      push(node);
+      int mid = (lo + hi) >>> 1;
+      if (slot < mid) {
+        node = 2 * node;
+        hi = mid;
+      } else {
+        node = 2 * node + 1;
+        lo = mid;
+      }
+    }
+    return min[node];
+  }
+
+  /**
+   * Returns true iff no slot in [{@code start}, {@code end}) is busy.
+   */
+  boolean isFree(int start, int end) {
+    return nextBusy(start) >= end;
+  }
+
+  /**
+   * Returns the first busy slot at or after {@code from}, or {@code size()} if there is none.
+   */
+  int nextBusy(int from) {
+    int busy = findBusy(1, 0, size, Math.max(from, 0));
+    return busy < 0 ? size : busy;
+  }
+
+  /**
+   * Returns the first free slot at or after {@code from}, or {@code size()} if there is none.
+   */
+  int nextFree(int from) {
+    int free = nextFreeWindow(from, 1);
+    return free < 0 ? size : free;
+  }
+
+  /**
+   * Returns the first slot at or after {@code from} that starts {@code duration} free slots in a
+   * row, or -1 if there is none.
+   */
+  int nextFreeWindow(int from, int duration) {
+    if (duration <= 0) {
+      throw new IllegalArgumentException("duration must be positive");
+    }
+
+    // carry[0] is the number of free slots in a row right before the node being visited
+    return findFreeWindow(1, 0, size, Math.max(from, 0), duration, new int[1]);
+  }
+
+  private void build(int node, int lo, int hi) {
+    prefix[node] = suffix[node] = best[node] = hi - lo;
+    if (hi - lo > 1) {
+      int mid = (lo + hi) >>> 1;
+      build(2 * node, lo, mid);
+      build(2 * node + 1, mid, hi);
+    }
+  }
+
+  private void update(int node, int lo, int hi, int start, int end, int delta) {
+    if (start <= lo && hi <= end) {
+      apply(node, delta);
+      return;
+    }
+
+    push(node);
+    int mid = (lo + hi) >>> 1;
+    if (start < mid) {
+      update(2 * node, lo, mid, start, end, delta);
+    }
+    if (end > mid) {
+      update(2 * node + 1, mid, hi, start, end, delta);
+    }
+    pull(node, mid - lo, hi - mid);
+  }
+
+  private void apply(int node, int delta) {
+    min[node] += delta;
+    lazy[node] += delta;
+  }
+
+  private void push(int node) {
+    if (lazy[node] != 0) {
+      apply(2 * node, lazy[node]);
+      apply(2 * node + 1, lazy[node]);
+      lazy[node] = 0;
+    }
+  }
+
+  /** Recomputes {@code node} from its children, which hold {@code leftSize} and
+    * {@code rightSize} slots.
+    */
+  private void pull(int node, int leftSize, int rightSize) {
+    int left = 2 * node;
+    int right = 2 * node + 1;
+    min[node] = Math.min(min[left], min[right]);
+    // only the runs of the children at the new minimum are runs of the node
+    boolean leftAtMin = min[left] == min[node];
+    boolean rightAtMin = min[right] == min[node];
+    int leftSuffix = leftAtMin ? suffix[left] : 0;
+    int rightPrefix = rightAtMin ? prefix[right] : 0;
+
+    prefix[node] = !leftAtMin ? 0
+        : prefix[left] == leftSize ? leftSize + rightPrefix : prefix[left];
+    suffix[node] = !rightAtMin ? 0
+        : suffix[right] == rightSize ? rightSize + leftSuffix : suffix[right];
+    best[node] = Math.max(leftSuffix + rightPrefix,
+        Math.max(leftAtMin ? best[left] : 0, rightAtMin ? best[right] : 0));
+  }
+
+  private int findBusy(int node, int lo, int hi, int from) {
+    if (hi <= from || (lo >= from && min[node] == 0 && prefix[node] == hi - lo)) {
+      // the node is before from or entirely free
+      return -1;
+    }
+    if (hi - lo == 1) {
+      return lo;
+    }
+
+    push(node);
+    int mid = (lo + hi) >>> 1;
+    int busy = findBusy(2 * node, lo, mid, from);
+    return busy >= 0 ? busy : findBusy(2 * node + 1, mid, hi, from);
+  }
+
+  private int findFreeWindow(int node, int lo, int hi, int from, int duration, int[] carry) {
+    if (hi <= from) {
+      return -1;
+    }
+    if (lo >= from) {
+      boolean free = min[node] == 0;
+      int freePrefix = free ? prefix[node] : 0;
+      if (carry[0] + freePrefix >= duration) {
+        // the free slots before the node and at its start are enough
+        return lo - carry[0];
+      }
+      if (!free || best[node] < duration) {
+        // no window starts inside the node, but one may start in its free suffix
+        carry[0] = free && prefix[node] == hi - lo ? carry[0] + hi - lo : free ? suffix[node] : 0;
+        return -1;
+      }
+    }
+
+    push(node);
+    int mid = (lo + hi) >>> 1;
+    int window = findFreeWindow(2 * node, lo, mid, from, duration, carry);
+    return window >= 0 ? window : findFreeWindow(2 * node + 1, mid, hi, from, duration, carry);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The busy times of a fixed group of people, kept up to date as events are added and removed. Each
+ * change and each search for a free window takes O(log n) time in the number of minutes of the day,
+ * instead of counting every event again for every query.
+ */
+public final class DynamicCalendar {
+  private final Collection<String> attendees;
+  private final int[] attendeeIds;
+  private final BusySegmentTree busy = new BusySegmentTree(TimeRange.WHOLE_DAY.duration());
+
+  /**
+   * Creates a calendar of {@code attendees} without any events.
+   */
+  public DynamicCalendar(Collection<String> attendees) {
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+
+    this.attendees = Collections.unmodifiableSet(new LinkedHashSet<>(attendees));
+    // intern the names so that events created later with the same people are recognized
+    this.attendeeIds = AttendeeDictionary.shared().internAll(attendees);
+  }
+
+  /**
+   * Creates a calendar of {@code attendees} with the events of {@code events} that they attend.
+   */
+  public DynamicCalendar(Collection<String> attendees, Collection<Event> events) {
+    this(attendees);
+    events.forEach(this::add);
+  }
+
+  /**
+   * Returns the people whose busy times are kept.
+   */
+  public Collection<String> getAttendees() {
+    return attendees;
+  }
+
+  /**
+   * Marks the time of {@code event} as busy if one of the attendees takes part in it. Returns true
+   * iff the calendar changed.
+   */
+  public synchronized boolean add(Event event) {
+    return update(event, 1);
+  }
+
+  /**
+   * Frees the time of {@code event}, which must have been added before, if one of the attendees
+   * takes part in it. Returns true iff the calendar changed.
+   */
+  public synchronized boolean remove(Event event) {
+    return update(event, -1);
+  }
+
+  /**
+   * Returns the first meeting of {@code duration} minutes that starts at or after minute
+   * {@code from} and that all attendees can attend, or null if there is none.
+   */
+  public synchronized TimeRange nextAvailable(int from, long duration) {
+    if (duration > TimeRange.WHOLE_DAY.duration()) {
+      return null;
+    }
+
+    int start = busy.nextFreeWindow(from, (int)Math.max(duration, 1));
+    return start < 0 ? null : TimeRange.fromStartDuration(start, (int)duration);
+  }
+
+  /**
+   * Returns the time ranges of the day in which a meeting of {@code duration} minutes can take place
+   * so that all attendees are free, like {@code FindMeetingQuery.queryWithoutOptionalAttendees}.
+   */
+  public synchronized Collection<TimeRange> getAvailableTimeRanges(long duration) {
+    List<TimeRange> result = new ArrayList<>();
+    if (duration > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return result;
+    }
+
+    // jump from one free run long enough for the meeting to the next
+    int start = busy.nextFreeWindow(TimeRange.START_OF_DAY, (int)Math.max(duration, 1));
+    while (start >= 0) {
+      int end = busy.nextBusy(start);
+      result.add(TimeRange.fromStartEnd(start, end, /* inclusive = */ false));
+      start = end < busy.size() ? busy.nextFreeWindow(end, (int)Math.max(duration, 1)) : -1;
+    }
+    return result;
+  }
+
+  private boolean update(Event event, int delta) {
+    if (!event.containsRequestedAttendees(attendeeIds)) {
+      return false;
+    }
+
+    TimeRange when = event.getWhen();
+    busy.add(when.start(), when.end(), delta);
+    return true;
+  }
+}
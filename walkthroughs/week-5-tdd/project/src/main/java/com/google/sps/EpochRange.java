@@ -0,0 +1,140 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Companion of {@code TimeRange} for spans that are not confined to a single day. Bounds are
+ * milliseconds since the epoch, so a range can be placed anywhere in time with sub-minute precision.
+ */
+public final class EpochRange {
+  /**
+   * A comparator for sorting ranges by their start time in ascending order.
+   */
+  public static final Comparator<EpochRange> ORDER_BY_START = new Comparator<EpochRange>() {
+    @Override
+    public int compare(EpochRange a, EpochRange b) {
+      return Long.compare(a.start, b.start);
+    }
+  };
+
+  /**
+   * A comparator for sorting ranges by their end time in ascending order.
+   */
+  public static final Comparator<EpochRange> ORDER_BY_END = new Comparator<EpochRange>() {
+    @Override
+    public int compare(EpochRange a, EpochRange b) {
+      return Long.compare(a.end, b.end);
+    }
+  };
+
+  private final long start;
+  private final long end;
+
+  private EpochRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the range in milliseconds since the epoch.
+   */
+  public long start() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the range in milliseconds since the epoch. This ending value is the closing
+   * exclusive bound.
+   */
+  public long end() {
+    return end;
+  }
+
+  /**
+   * Returns the number of milliseconds between the start and end.
+   */
+  public long duration() {
+    return end - start;
+  }
+
+  /**
+   * Checks if two ranges overlap. This means that at least some part of one range falls within the
+   * bounds of another range.
+   */
+  public boolean overlaps(EpochRange other) {
+    return this.contains(other.start) || other.contains(this.start);
+  }
+
+  /**
+   * Checks if this range completely contains another range. Like {@code TimeRange.contains}, a range
+   * with no duration is treated as a point in time.
+   */
+  public boolean contains(EpochRange other) {
+    if (other.duration() <= 0) {
+      return contains(other.start);
+    }
+    return contains(other.start) && contains(other.end - 1);
+  }
+
+  /**
+   * Returns true iff {@code point} falls within [start, end).
+   */
+  public boolean contains(long point) {
+    return start <= point && point < end;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof EpochRange
+        && start == ((EpochRange) other).start && end == ((EpochRange) other).end;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(start) ^ Long.hashCode(end);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Range: [%d, %d)", start, end);
+  }
+
+  /**
+   * Creates an {@code EpochRange} from {@code start} (inclusive) to {@code end} (exclusive).
+   */
+  public static EpochRange fromStartEnd(long start, long end) {
+    return new EpochRange(start, end);
+  }
+
+  /**
+   * Creates an {@code EpochRange} starting at {@code start} that lasts {@code duration}
+   * milliseconds.
+   */
+  public static EpochRange fromStartDuration(long start, long duration) {
+    return new EpochRange(start, start + duration);
+  }
+
+  /**
+   * Places {@code range}, whose bounds are minutes of a day, on the day that starts at
+   * {@code startOfDay} milliseconds since the epoch.
+   */
+  public static EpochRange fromTimeRange(TimeRange range, long startOfDay) {
+    return new EpochRange(startOfDay + TimeUnit.MINUTES.toMillis(range.start()),
+        startOfDay + TimeUnit.MINUTES.toMillis(range.end()));
+  }
+}
@@ -15,11 +15,7 @@
 package com.google.sps;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Event is the container class for when a specific group of people are meeting and are therefore
@@ -28,7 +24,8 @@ import java.util.stream.Collectors;
 public final class Event {
   private final String title;
   private final TimeRange when;
-  private final Set<String> attendees = new HashSet<>();
+  // Stores the attendees as sorted int ids instead of strings.
+  private final AttendeeSet attendees;
 
   /**
    * Creates a new event.
@@ -52,7 +49,7 @@ public final class Event {
 
     this.title = title;
     this.when = when;
-    this.attendees.addAll(attendees);
+    this.attendees = AttendeeSet.of(attendees);
   }
 
   /**
@@ -73,9 +70,8 @@ public final class Event {
    * Returns a read-only set of required attendees for this event.
    */
   public Set<String> getAttendees() {
-    // Return the attendees as an unmodifiable set so that the caller can't change our
-    // internal data.
-    return Collections.unmodifiableSet(attendees);
+    // An {@code AttendeeSet} is read-only, so the caller can't change our internal data.
+    return attendees;
   }
 
   @Override
@@ -97,13 +93,17 @@ public final class Event {
   }
 
   /**
-   * Returns true iff at leas one attendee in requestedAttendees participates in this Event 
+   * Returns true iff at least one attendee in requestedAttendees participates in this Event.
    */
   public boolean containsRequestedAttendees(Collection<String> requestedAttendees) {
-     
-    return requestedAttendees.parallelStream()
-                      .filter(requestedAttendee -> attendees.contains(requestedAttendee) == true)
-                      .findAny()
-                      .isPresent();
+    return containsRequestedAttendees(AttendeeDictionary.shared().lookupAll(requestedAttendees));
+  }
+
+  /**
+   * Returns true iff at least one of the sorted attendee ids {@code requestedAttendeeIds}
+   * participates in this Event.
+   */
+  boolean containsRequestedAttendees(int[] requestedAttendeeIds) {
+    return attendees.intersects(requestedAttendeeIds);
   }
 }
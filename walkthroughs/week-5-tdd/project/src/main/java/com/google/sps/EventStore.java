@@ -0,0 +1,174 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory calendar whose events can be added, updated and deleted while queries are running.
+ * Every write publishes a new immutable {@code Snapshot}, so readers never take a lock and always
+ * see the calendar either completely before or completely after a write.
+ */
+public final class EventStore {
+  private final Object writeLock = new Object();
+  private volatile Snapshot current;
+  private long nextId = 1;
+
+  /**
+   * Creates an empty store.
+   */
+  public EventStore() {
+    this(Collections.emptyList());
+  }
+
+  /**
+   * Creates a store holding {@code events}, which get the ids 1, 2, 3 and so on in order.
+   */
+  public EventStore(Collection<Event> events) {
+    SortedMap<Long, Event> initialEvents = new TreeMap<>();
+    for (Event event : events) {
+      initialEvents.put(nextId++, event);
+    }
+    current = new Snapshot(initialEvents, /* version = */ 0);
+  }
+
+  /**
+   * Returns the current state of the calendar. The snapshot never changes, even if the store does.
+   */
+  public Snapshot snapshot() {
+    return current;
+  }
+
+  /**
+   * Adds {@code event} and returns its id.
+   */
+  public long add(Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    synchronized (writeLock) {
+      long id = nextId++;
+      SortedMap<Long, Event> events = new TreeMap<>(current.events);
+      events.put(id, event);
+      publish(events);
+      return id;
+    }
+  }
+
+  /**
+   * Replaces the event with id {@code id} by {@code event}. Returns false if there is no such event.
+   */
+  public boolean update(long id, Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    synchronized (writeLock) {
+      if (!current.events.containsKey(id)) {
+        return false;
+      }
+      SortedMap<Long, Event> events = new TreeMap<>(current.events);
+      events.put(id, event);
+      publish(events);
+      return true;
+    }
+  }
+
+  /**
+   * Deletes the event with id {@code id}. Returns false if there is no such event.
+   */
+  public boolean delete(long id) {
+    synchronized (writeLock) {
+      if (!current.events.containsKey(id)) {
+        return false;
+      }
+      SortedMap<Long, Event> events = new TreeMap<>(current.events);
+      events.remove(id);
+      publish(events);
+      return true;
+    }
+  }
+
+  private void publish(SortedMap<Long, Event> events) {
+    current = new Snapshot(events, current.version + 1);
+  }
+
+  /**
+   * Immutable state of an {@code EventStore} after some number of writes.
+   */
+  public static final class Snapshot {
+    private final SortedMap<Long, Event> events;
+    private final long version;
+    // Built on first use, since many snapshots are replaced before anyone queries them.
+    private volatile AttendeeIndex index;
+    private volatile TimeRangeIndex<Event> timeIndex;
+
+    private Snapshot(SortedMap<Long, Event> events, long version) {
+      this.events = Collections.unmodifiableSortedMap(events);
+      this.version = version;
+    }
+
+    /**
+     * Returns the number of writes made to the store before this snapshot. Every write increases
+     * the version by one.
+     */
+    public long getVersion() {
+      return version;
+    }
+
+    /**
+     * Returns a read-only map from event id to event, sorted by id.
+     */
+    public SortedMap<Long, Event> getEventsById() {
+      return events;
+    }
+
+    /**
+     * Returns a read-only collection of the events, sorted by id.
+     */
+    public Collection<Event> getEvents() {
+      return events.values();
+    }
+
+    /**
+     * Returns the events of this snapshot indexed by attendee.
+     */
+    public AttendeeIndex getIndex() {
+      AttendeeIndex result = index;
+      if (result == null) {
+        // Two readers may build the index at the same time. Both get equal indexes.
+        result = new AttendeeIndex(events.values());
+        index = result;
+      }
+      return result;
+    }
+
+    /**
+     * Returns the events of this snapshot indexed by the time they take place.
+     */
+    public TimeRangeIndex<Event> getTimeIndex() {
+      TimeRangeIndex<Event> result = timeIndex;
+      if (result == null) {
+        result = TimeRangeIndex.ofEvents(events.values());
+        timeIndex = result;
+      }
+      return result;
+    }
+  }
+}
@@ -15,123 +15,650 @@
 package com.google.sps;
 
 import java.io.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public final class FindMeetingQuery {
-  
+  /** Spacing in minutes of the start times offered by {@code queryTopSlots} inside a free range. */
+  public static final int CANDIDATE_STEP = 15;
+
+  // weight of a mandatory busy range when mandatory and optional ones are counted together
+  private static final long MANDATORY_BUSY_RANGE = 1L << 32;
+
+  private final AvailabilityEngine engine;
+
+  /** Creates a query that uses the default {@code PrefixSumEngine}. */
+  public FindMeetingQuery() {
+    this(new PrefixSumEngine());
+  }
+
+  /** Creates a query that finds the available time ranges with {@code engine}. */
+  public FindMeetingQuery(AvailabilityEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("engine cannot be null");
+    }
+
+    this.engine = engine;
+  }
+
   /** Returns a Collection of time ranges when meeting {@code request} can be scheduled in the day of 
     * events so that all mandatory and optional attendees are free.
     * If there is no time range when both mandatory and optional attendees are free, returns all time
     * ranges when the meeting can be scheduled so that all mandatory attendees are free 
-    * TODO[ak47na]: implement a solution that maximizes the number of optional attendees instead
+    * See {@code queryMaximizingOptionalAttendees} for a query that keeps as many optional attendees
+    * as possible instead of all or none of them.
     */
   public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request, Collection<String> optionalAttendees) {
-    Collection<String> allAttendees = new ArrayList<String>();
-    
-    allAttendees.addAll(request.getAttendees());
-    allAttendees.addAll(optionalAttendees);
-    // first, create a new MeetingRequest object considering all attendees as mandatory
-    MeetingRequest newRequest = new MeetingRequest(allAttendees, request.getDuration());
-    Collection<TimeRange> result = queryWithoutOptionalAttendees(events, newRequest);
-
-    if (result.size() > 0) {
-      return result;
+    // a single pass over the events sorts every busy range into mandatory or optional-only
+    int[] mandatoryIds = AttendeeDictionary.shared().lookupAll(request.getAttendees());
+    int[] optionalIds = AttendeeDictionary.shared().lookupAll(optionalAttendees);
+    List<TimeRange> mandatoryBusyRanges = new ArrayList<>();
+    List<TimeRange> optionalBusyRanges = new ArrayList<>();
+    for (Event event : events) {
+      if (event.containsRequestedAttendees(mandatoryIds)) {
+        mandatoryBusyRanges.add(event.getWhen());
+      } else if (event.containsRequestedAttendees(optionalIds)) {
+        optionalBusyRanges.add(event.getWhen());
+      }
+    }
+    return query(mandatoryBusyRanges, optionalBusyRanges, request);
+  }
+
+  /** Same as {@code query(Collection<Event>, MeetingRequest, Collection<String>)}, but only reads the
+    * busy times of the requested attendees from {@code index}.
+    */
+  public Collection<TimeRange> query(BusyCalendar index, MeetingRequest request, Collection<String> optionalAttendees) {
+    return query(index.getBusyRanges(request.getAttendees()), index.getBusyRanges(optionalAttendees),
+        request);
+  }
+
+  /** Same as {@code query(BusyCalendar, MeetingRequest, Collection<String>)}, but appends the time
+    * ranges to {@code result} as packed ranges (see {@code PackedTimeRange}) instead of allocating a
+    * {@code TimeRange} for each of them. Clearing and reusing {@code result} across queries keeps
+    * the whole query free of allocations per range.
+    */
+  public void query(BusyCalendar index, MeetingRequest request, Collection<String> optionalAttendees,
+      TimeRangeList result) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return;
+    }
+
+    Collection<TimeRange> mandatoryBusyRanges = index.getBusyRanges(request.getAttendees());
+    Collection<TimeRange> optionalBusyRanges = index.getBusyRanges(optionalAttendees);
+    if (request.getAlignment() > 1) {
+      queryAligned(mandatoryBusyRanges, optionalBusyRanges, request, result);
+    } else {
+      engine.findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges,
+          (int)request.getDuration(), result);
     }
-    // if ther is no suitable time range for both mandatory and optional attendees, find the time ranges
-    // when only the madatory ones are free
-    return queryWithoutOptionalAttendees(events, request);
   }
 
   /** returns a Collection of time ranges when meeting {@code request} can be scheduled in the day of 
     * events so that all attendees are free 
     */
   public Collection<TimeRange> queryWithoutOptionalAttendees(Collection<Event> events, MeetingRequest request) {
-      if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+    if (request.getAlignment() > 1 || request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      return findAvailableTimeRanges(attendees -> getBusyRanges(events, attendees), request);
+    }
+    // let the engine check the attendees of the events, so that it can do so in parallel
+    return engine.findAvailableTimeRangesFor(events, request.getAttendees(),
+        (int)request.getDuration());
+  }
+
+  /** Same as {@code queryWithoutOptionalAttendees(Collection<Event>, MeetingRequest)}, but only reads
+    * the busy times of the requested attendees from {@code index}.
+    */
+  public Collection<TimeRange> queryWithoutOptionalAttendees(BusyCalendar index, MeetingRequest request) {
+    return findAvailableTimeRanges(index::getBusyRanges, request);
+  }
+
+  /** Returns a Collection of time ranges when meeting {@code request} can be scheduled in the day of
+    * events so that all mandatory attendees and the largest possible number of optional attendees
+    * are free. A meeting of the requested duration starting anywhere in a returned time range is
+    * attended by that many optional attendees. If the mandatory attendees have no common free time,
+    * returns no time ranges.
+    */
+  public Collection<TimeRange> queryMaximizingOptionalAttendees(Collection<Event> events,
+      MeetingRequest request, Collection<String> optionalAttendees) {
+    Set<String> attendees = new HashSet<>(request.getAttendees());
+    attendees.addAll(optionalAttendees);
+    return queryMaximizingOptionalAttendees(new AttendeeIndex(events, attendees), request, optionalAttendees);
+  }
+
+  /** Same as {@code queryMaximizingOptionalAttendees(Collection<Event>, MeetingRequest,
+    * Collection<String>)}, but only reads the busy times of the requested attendees from
+    * {@code index}.
+    */
+  public Collection<TimeRange> queryMaximizingOptionalAttendees(BusyCalendar index,
+      MeetingRequest request, Collection<String> optionalAttendees) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return new ArrayList<TimeRange>();
+    }
+
+    Collection<String> mandatoryAttendees = request.getAttendees();
+    Set<String> optionalOnly = new LinkedHashSet<>(optionalAttendees);
+    optionalOnly.removeAll(mandatoryAttendees);
+
+    // Every optional attendee who cannot come adds 1 to the count of a start time, while a mandatory
+    // attendee adds more than all optional attendees together. The best start times are then the ones
+    // with the smallest count, as long as that count stays below the weight of one mandatory attendee.
+    long mandatoryWeight = optionalOnly.size() + 1;
+    List<Collection<TimeRange>> busyRanges = new ArrayList<>();
+    long[] weights = new long[mandatoryAttendees.size() + optionalOnly.size()];
+    for (String attendee : mandatoryAttendees) {
+      weights[busyRanges.size()] = mandatoryWeight;
+      busyRanges.add(index.getBusyRanges(attendee));
+    }
+    for (String attendee : optionalOnly) {
+      weights[busyRanges.size()] = 1;
+      busyRanges.add(index.getBusyRanges(attendee));
+    }
+
+    BlockedStartSweep sweep = BlockedStartSweep.count(busyRanges, weights, (int)request.getDuration());
+    long minimumCount = sweep.minimumCount();
+    if (minimumCount >= mandatoryWeight) {
+      // at least one mandatory attendee is busy whenever the meeting could start
+      return new ArrayList<TimeRange>();
+    }
+    return sweep.rangesWithCountAtMost(minimumCount);
+  }
+
+  /** Returns a Collection of time ranges when meeting {@code request} can be scheduled in the day of
+    * events so that at least {@code request.getQuorum()} of its attendees are free for the whole
+    * meeting, or all of them if the quorum is 0. A meeting of the requested duration starting
+    * at a multiple of the requested alignment anywhere in a returned time range reaches the quorum.
+    * Every attendee is swept once, so large groups cost no more than their events, however many
+    * combinations of attendees there are.
+    */
+  public Collection<TimeRange> queryWithQuorum(Collection<Event> events, MeetingRequest request) {
+    return queryWithQuorum(new AttendeeIndex(events, request.getAttendees()), request);
+  }
+
+  /** Same as {@code queryWithQuorum(Collection<Event>, MeetingRequest)}, but only reads the busy
+    * times of the requested attendees from {@code index}.
+    */
+  public Collection<TimeRange> queryWithQuorum(BusyCalendar index, MeetingRequest request) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
       // if the meeting lasts more than a day, there is no solution
       return new ArrayList<TimeRange>();
     }
 
-    // array that will represent the number of meetings happening during that minute
-    ArrayList<Integer> meetings = new ArrayList<Integer>();
-    // before processing the events, the number of meetings for each minute is 0
-    meetings.addAll(Collections.nCopies(TimeRange.END_OF_DAY - TimeRange.START_OF_DAY + 1, 0));
     Collection<String> attendees = request.getAttendees();
+    int quorum = request.getQuorum() <= 0 ? attendees.size() : request.getQuorum();
+
+    // every attendee who is busy at some point of a meeting adds 1 to the count of its start time,
+    // so the meeting reaches the quorum iff the count is at most the number of absences allowed
+    List<Collection<TimeRange>> busyRanges = new ArrayList<>();
+    for (String attendee : attendees) {
+      busyRanges.add(index.getBusyRanges(attendee));
+    }
+    long[] weights = new long[busyRanges.size()];
+    Arrays.fill(weights, 1);
+    int duration = (int)Math.max(request.getDuration(), 1);
+    List<TimeRange> ranges =
+        BlockedStartSweep.count(busyRanges, weights, duration).rangesWithCountAtMost(
+            attendees.size() - quorum);
+    if (request.getAlignment() > 1) {
+      // the sweep counts every minute, so keep the meetings that start on the grid
+      return alignTimeRanges(ranges, request.getAlignment(), duration);
+    }
+    return ranges;
+  }
+
+  /** Returns the time ranges covered by the meetings of {@code duration} minutes that start on a
+    * multiple of {@code alignment} minutes and fit in one of {@code ranges}.
+    */
+  private static List<TimeRange> alignTimeRanges(List<TimeRange> ranges, int alignment,
+      int duration) {
+    List<TimeRange> aligned = new ArrayList<>(ranges.size());
+    for (TimeRange range : ranges) {
+      int firstStart = Math.floorDiv(range.start() + alignment - 1, alignment) * alignment;
+      int lastStart = Math.floorDiv(range.end() - duration, alignment) * alignment;
+      if (firstStart <= lastStart) {
+        aligned.add(TimeRange.fromStartEnd(firstStart, lastStart + duration, false));
+      }
+    }
+    return aligned;
+  }
+
+  /** Returns the {@code k} best meetings, ranked by {@code scorer} with ties going to the earlier
+    * meeting, that all attendees of {@code request} can attend. Optional attendees are ignored.
+    * Every free time range offers its first and last possible start times and the multiples of
+    * {@code CANDIDATE_STEP} minutes in between, so that the suggestions are not one minute apart.
+    */
+  public List<TimeRange> queryTopSlots(Collection<Event> events, MeetingRequest request,
+      SlotScorer scorer, int k) {
+    return queryTopSlots(new AttendeeIndex(events, request.getAttendees()), request, scorer, k);
+  }
+
+  /** Same as {@code queryTopSlots(Collection<Event>, MeetingRequest, SlotScorer, int)}, but only
+    * reads the busy times of the requested attendees from {@code index}.
+    */
+  public List<TimeRange> queryTopSlots(BusyCalendar index, MeetingRequest request,
+      SlotScorer scorer, int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("k must be positive");
+    }
+
+    int duration = (int)Math.max(request.getDuration(), 1);
+    if (duration > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return new ArrayList<TimeRange>();
+    }
+
+    BusyMask busy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (TimeRange when : index.getBusyRanges(request.getAttendees())) {
+      busy.markBusy(when.start(), when.end());
+    }
 
-    // If at least one requested attendee is participating in the event
-    // update the number of meetings for the start and end time of event
-    events.parallelStream().filter(event -> (event.containsRequestedAttendees(attendees) == true))
-                            .map(Event::getWhen)
-                            .collect(Collectors.toList())
-                            .forEach(eventWhen -> updateNumberOfMeetings(meetings, eventWhen));
-
-    // after all events are processed, for each minute x, meetings[x] will represent the number of
-    // meetings that start at minute x, minus the number of meetings that end right before minute x
-
-    // precompute the prefix sum on the meetings array s.t meetings[x] will represent the number of
-    // meetings that happen at minute x:
-    // (before computing the sum):  [ .... +1 ........ -1 .... ]
-    // (after computing the sum) :  [..... +1 +1 ... +1 0 .... ]
-
-    return findAvailableTimeRanges(precomputePrefixSum(meetings), (int)request.getDuration());
-  }
-  
-  /** In meetings array, add 1 to the start time of the meeting and substract 1 from the end time
-    * Only the endpoints are changed such that after all events are processed and the prefix sum is
-    * computed, the number of meetings increases in the array starting from start time and ending
-    * right before the end time.
-   */
-  private void updateNumberOfMeetings(ArrayList<Integer> meetings, TimeRange when) {
-    // mark that a new meeting starts at when.start()
-    meetings.set(when.start(), meetings.get(when.start()) + 1); 
-    // mark that a new meeting ends right before when.end() 
-    if (when.end() <= TimeRange.END_OF_DAY) {
-      // only update the end time of events that end before the day ends
-      meetings.set(when.end(), meetings.get(when.end()) - 1);
-    }
-  }
-
-  /** Given meetings array, returns meetingsSum, the prefix sum array such that meetingsSum[x] will
-    * represent the number of meetings that happen at minute x.
-    */
-  private ArrayList<Integer> precomputePrefixSum(ArrayList<Integer> meetings) { 
-    ArrayList<Integer> meetingsSum = new ArrayList<Integer>();
-
-    // compute the sum starting from the second element because the prefix sum for the first 
-    // element is the first element
-    meetingsSum.add(meetings.get(0));
-    for (int i = TimeRange.START_OF_DAY + 1; i <= TimeRange.END_OF_DAY; ++ i) {
-      meetingsSum.add(meetingsSum.get(i - 1) + meetings.get(i));
-    }
-    return meetingsSum;
-  }
-
-  /** Given meetings = an array where each element represents the number of meeting that occur at that
-   * minute, and a duration, returns a Collection of time ranges in which the meeting lasting duration
-   * minutes can happen.
-  */
-  private Collection<TimeRange> findAvailableTimeRanges(ArrayList<Integer> meetings, int duration) {
-    ArrayList<TimeRange> availableTimeRange = new ArrayList<TimeRange>();
-
-    int lastUnavailableTime = TimeRange.START_OF_DAY - 1;
-    
-    for (int endingTime = TimeRange.START_OF_DAY; endingTime <= TimeRange.END_OF_DAY; ++ endingTime) {
-      if (meetings.get(endingTime) != 0) {
-        // at least one meeting is scheduled during minute endingTime
-        lastUnavailableTime = endingTime;
-      }
-      if (endingTime == TimeRange.END_OF_DAY || meetings.get(endingTime + 1) != 0) {
-        // there are no meetings during (lastUnavailableTime, endingTime]
-        if (endingTime - lastUnavailableTime >= duration) {
-          // add [lastUnavailableTime + 1, endingTime] as an available time range for the meeting
-          TimeRange timeRange = TimeRange.fromStartEnd(lastUnavailableTime + 1, endingTime, /* inclusive = */ true);
-          availableTimeRange.add(timeRange);
+    // the worst of the best k candidates found so far is at the head of the queue
+    PriorityQueue<Candidate> best = new PriorityQueue<>(k, Candidate.ORDER_BY_RANK.reversed());
+    int freeStart = busy.nextFree(0);
+    scan:
+    while (freeStart < busy.size()) {
+      int freeEnd = busy.nextBusy(freeStart);
+      int lastStart = freeEnd - duration;
+      int start = freeStart;
+      while (start <= lastStart) {
+        if (best.size() == k && scorer.lowerBound(start, duration) >= best.peek().score) {
+          // no remaining candidate can beat the current top k
+          break scan;
         }
-      } 
+        Candidate candidate =
+            new Candidate(start, scorer.score(start, duration, freeStart, freeEnd));
+        if (best.size() < k) {
+          best.add(candidate);
+        } else if (Candidate.ORDER_BY_RANK.compare(candidate, best.peek()) < 0) {
+          best.poll();
+          best.add(candidate);
+        }
+        start = start == lastStart ? lastStart + 1
+            : Math.min(lastStart, (start / CANDIDATE_STEP + 1) * CANDIDATE_STEP);
+      }
+      freeStart = busy.nextFree(freeEnd);
+    }
+
+    List<Candidate> ranked = new ArrayList<>(best);
+    ranked.sort(Candidate.ORDER_BY_RANK);
+    List<TimeRange> result = new ArrayList<>(ranked.size());
+    for (Candidate candidate : ranked) {
+      result.add(TimeRange.fromStartDuration(candidate.start, duration));
+    }
+    return result;
+  }
+
+  /** Returns every (time range, room) pair in which meeting {@code request} can take place so that
+    * all of its attendees are free and the room is not booked. Only the rooms of {@code rooms} that
+    * hold {@code request.getRequiredRoomCapacity()} people and offer
+    * {@code request.getRoomEquipment()} are considered. A room is booked during every event that
+    * lists its name among the attendees. Optional attendees are ignored. The pairs are sorted by
+    * start time, then from the smallest room to the largest.
+    */
+  public List<RoomSlot> queryWithRooms(Collection<Event> events, ResourceIndex rooms,
+      MeetingRequest request) {
+    List<Resource> candidates = rooms.find(request.getRequiredRoomCapacity(), request.getRoomEquipment());
+    Set<String> attendees = new HashSet<>(request.getAttendees());
+    for (Resource room : candidates) {
+      attendees.add(room.getName());
+    }
+    return queryWithRooms(new AttendeeIndex(events, attendees), candidates, request);
+  }
+
+  /** Same as {@code queryWithRooms(Collection<Event>, ResourceIndex, MeetingRequest)}, but only
+    * reads the busy times of the attendees and rooms from {@code index}.
+    */
+  public List<RoomSlot> queryWithRooms(BusyCalendar index, ResourceIndex rooms,
+      MeetingRequest request) {
+    return queryWithRooms(index,
+        rooms.find(request.getRequiredRoomCapacity(), request.getRoomEquipment()), request);
+  }
+
+  private List<RoomSlot> queryWithRooms(BusyCalendar index, List<Resource> candidates,
+      MeetingRequest request) {
+    List<RoomSlot> result = new ArrayList<>();
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration() || candidates.isEmpty()) {
+      // if the meeting lasts more than a day, or no room fits it, there is no solution
+      return result;
     }
 
-    return availableTimeRange;
+    // the attendees are the same whatever the room, so mark them once and only add each room's
+    // own bookings on top of a copy
+    int duration = (int)request.getDuration();
+    BusyMask peopleBusy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (TimeRange when : index.getBusyRanges(request.getAttendees())) {
+      peopleBusy.markBusy(when.start(), when.end());
+    }
+    List<TimeRange> peopleFree = BitsetEngine.findAvailableTimeRanges(peopleBusy, duration);
+    if (peopleFree.isEmpty()) {
+      return result;
+    }
+
+    for (Resource room : candidates) {
+      List<TimeRange> bookings = index.getBusyRanges(room.getName());
+      List<TimeRange> free = peopleFree;
+      if (!bookings.isEmpty()) {
+        BusyMask busy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+        busy.or(peopleBusy);
+        for (TimeRange when : bookings) {
+          busy.markBusy(when.start(), when.end());
+        }
+        free = BitsetEngine.findAvailableTimeRanges(busy, duration);
+      }
+      for (TimeRange when : free) {
+        result.add(new RoomSlot(when, room));
+      }
+    }
+
+    // the rooms were visited from the smallest to the largest and the sort is stable
+    result.sort(Comparator.comparingInt(slot -> slot.getWhen().start()));
+    return result;
+  }
+
+  /** Returns the ranges of {@code window}, in ascending order, in which meeting {@code request} can
+    * take place so that all of its attendees are free, given that they attend the recurring
+    * {@code events}. The window may span many days; only the occurrences inside it are expanded,
+    * straight into the arrays swept by {@code SweepLineEngine}. Optional attendees are ignored.
+    */
+  public List<EpochRange> queryRecurring(Collection<RecurringEvent> events, MeetingRequest request,
+      EpochRange window) {
+    int[] attendeeIds = AttendeeDictionary.shared().lookupAll(request.getAttendees());
+    OccurrenceBuffer busy = new OccurrenceBuffer();
+    for (RecurringEvent event : events) {
+      if (event.containsRequestedAttendees(attendeeIds)) {
+        event.getRule().forEachOccurrence(window.start(), window.end(), busy);
+      }
+    }
+
+    List<EpochRange> result = new ArrayList<>();
+    SweepLineEngine.sweep(busy.starts, busy.ends, busy.count, window.start(), window.end(),
+        TimeUnit.MINUTES.toMillis(request.getDuration()),
+        (start, end) -> result.add(EpochRange.fromStartEnd(start, end)));
+    return result;
+  }
+
+  /** Same as {@code query(BusyCalendar, MeetingRequest, Collection<String>)}, but every attendee is
+    * also unavailable outside of their working hours in {@code profiles}. The events take place on
+    * {@code day}, and their times are minutes since midnight in {@code calendarZone}. The compiled
+    * working hours are OR-ed into the busy minutes while the query runs, instead of filtering its
+    * results afterwards.
+    */
+  public Collection<TimeRange> queryWithWorkingHours(BusyCalendar index,
+      WorkingHoursProfiles profiles, MeetingRequest request, Collection<String> optionalAttendees,
+      LocalDate day, ZoneId calendarZone) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return new ArrayList<TimeRange>();
+    }
+
+    int duration = (int)request.getDuration();
+    BusyMask mandatoryBusy =
+        busyMaskWithWorkingHours(index, profiles, request.getAttendees(), day, calendarZone);
+    BusyMask allBusy = busyMaskWithWorkingHours(index, profiles, optionalAttendees, day, calendarZone);
+    allBusy.or(mandatoryBusy);
+
+    List<TimeRange> result = BitsetEngine.findAvailableTimeRanges(allBusy, duration);
+    return result.isEmpty() ? BitsetEngine.findAvailableTimeRanges(mandatoryBusy, duration) : result;
+  }
+
+  private static BusyMask busyMaskWithWorkingHours(BusyCalendar index,
+      WorkingHoursProfiles profiles, Collection<String> attendees, LocalDate day,
+      ZoneId calendarZone) {
+    BusyMask busy = new BusyMask(TimeRange.WHOLE_DAY.duration());
+    for (String attendee : attendees) {
+      for (TimeRange when : index.getBusyRanges(attendee)) {
+        busy.markBusy(when.start(), when.end());
+      }
+      BusyMask offHours = profiles.offHours(attendee, day, calendarZone);
+      if (offHours != null) {
+        busy.or(offHours);
+      }
+    }
+    return busy;
+  }
+
+  /** Answers every request in {@code requests} like {@code query}, using the request's own optional
+    * attendees, or like {@code queryWithQuorum} if the request has a quorum, and returns the answers
+    * in the same order. The events are read once for the whole batch and the busy times of an
+    * attendee are shared by all requests that ask about them.
+    */
+  public List<Collection<TimeRange>> queryAll(Collection<Event> events, List<MeetingRequest> requests) {
+    Set<String> attendees = new HashSet<>();
+    for (MeetingRequest request : requests) {
+      attendees.addAll(request.getAttendees());
+      attendees.addAll(request.getOptionalAttendees());
+    }
+    return queryAll(new AttendeeIndex(events, attendees), requests);
+  }
+
+  /** Same as {@code queryAll(Collection<Event>, List<MeetingRequest>)}, but reads the busy times from
+    * {@code index}.
+    */
+  public List<Collection<TimeRange>> queryAll(BusyCalendar index, List<MeetingRequest> requests) {
+    List<Collection<TimeRange>> answers = new ArrayList<>(requests.size());
+    for (MeetingRequest request : requests) {
+      answers.add(request.getQuorum() > 0 ? queryWithQuorum(index, request)
+          : query(index, request, request.getOptionalAttendees()));
+    }
+    return answers;
+  }
+
+  /** Places every meeting of {@code requests} on the day so that all of its attendees are free and
+    * no two meetings that share an attendee overlap, such as the interviews of one candidate.
+    * Returns the time of every meeting, in the order of the requests, or an empty list if there is
+    * no such placement or none was found within {@code timeoutMillis} milliseconds. Meetings are
+    * placed as early as the other meetings allow. Optional attendees and quorums are ignored.
+    */
+  public List<TimeRange> queryJointSchedule(Collection<Event> events, List<MeetingRequest> requests,
+      long timeoutMillis) {
+    Set<String> attendees = new HashSet<>();
+    for (MeetingRequest request : requests) {
+      attendees.addAll(request.getAttendees());
+    }
+    return queryJointSchedule(new AttendeeIndex(events, attendees), requests, timeoutMillis);
+  }
+
+  /** Same as {@code queryJointSchedule(Collection<Event>, List<MeetingRequest>, long)}, but reads the
+    * busy times from {@code index}.
+    */
+  public List<TimeRange> queryJointSchedule(BusyCalendar index, List<MeetingRequest> requests,
+      long timeoutMillis) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    List<BusyMask> domains = new ArrayList<>(requests.size());
+    for (MeetingRequest request : requests) {
+      // start times that would make the meeting overlap a busy time of its attendees are ruled out
+      int duration = (int)Math.max(request.getDuration(), 1);
+      BusyMask ruledOut = new BusyMask(TimeRange.WHOLE_DAY.duration());
+      int nextAllowed = TimeRange.START_OF_DAY;
+      for (TimeRange free : queryWithoutOptionalAttendees(index, request)) {
+        ruledOut.markBusy(nextAllowed, free.start());
+        nextAllowed = free.end() - duration + 1;
+      }
+      ruledOut.markBusy(nextAllowed, ruledOut.size());
+      // and so are the start times off the grid of an aligned meeting
+      int alignment = request.getAlignment();
+      for (int start = 0; alignment > 1 && start < ruledOut.size(); start += alignment) {
+        ruledOut.markBusy(start + 1, Math.min(start + alignment, ruledOut.size()));
+      }
+      domains.add(ruledOut);
+    }
+
+    int[] starts = new MultiMeetingScheduler(requests, domains, deadline).solve();
+    List<TimeRange> result = new ArrayList<>(requests.size());
+    if (starts != null) {
+      for (int i = 0; i < starts.length; ++i) {
+        result.add(TimeRange.fromStartDuration(starts[i], (int)requests.get(i).getDuration()));
+      }
+    }
+    return result;
+  }
+
+  /** Finds the time ranges free of both {@code mandatoryBusyRanges} and {@code optionalBusyRanges},
+    * or if there are none, the ones free of {@code mandatoryBusyRanges}. The engine computes both
+    * answers from the same busy counts instead of running the whole query twice.
+    */
+  private Collection<TimeRange> query(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, MeetingRequest request) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return new ArrayList<TimeRange>();
+    }
+
+    if (request.getAlignment() > 1) {
+      TimeRangeList result = new TimeRangeList();
+      queryAligned(mandatoryBusyRanges, optionalBusyRanges, request, result);
+      return result.toTimeRanges();
+    }
+    return engine.findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges,
+        (int)request.getDuration());
+  }
+
+  private Collection<TimeRange> findAvailableTimeRanges(
+      Function<Collection<String>, Collection<TimeRange>> busyRangesOf, MeetingRequest request) {
+    if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
+      // if the meeting lasts more than a day, there is no solution
+      return new ArrayList<TimeRange>();
+    }
+
+    Collection<TimeRange> busyRanges = busyRangesOf.apply(request.getAttendees());
+    if (request.getAlignment() > 1) {
+      TimeRangeList result = new TimeRangeList();
+      queryAligned(busyRanges, Collections.emptyList(), request, result);
+      return result.toTimeRanges();
+    }
+    return engine.findAvailableTimeRanges(busyRanges, (int)request.getDuration());
+  }
+
+  /** Same as {@code engine.findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, ...)},
+    * but the meeting can only start on multiples of {@code request.getAlignment()} minutes. Only
+    * those start times are counted, in a difference array that many times smaller than the day. A
+    * meeting can start at every aligned minute of the returned time ranges.
+    */
+  private static void queryAligned(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, MeetingRequest request, TimeRangeList result) {
+    int alignment = request.getAlignment();
+    // a meeting without duration still needs a free minute to start in, like in the engines
+    int duration = (int)Math.max(request.getDuration(), 1);
+    // the meeting must also end with the day at the latest
+    int lastStart = Math.floorDiv(TimeRange.WHOLE_DAY.duration() - duration, alignment);
+
+    // blocked[k] counts the busy ranges that a meeting starting at k * alignment would overlap,
+    // mandatory ones in the high half and optional ones in the low half
+    long[] blocked = new long[TimeRange.WHOLE_DAY.duration() / alignment + 1];
+    countBlockedStarts(blocked, mandatoryBusyRanges, alignment, duration, MANDATORY_BUSY_RANGE);
+    countBlockedStarts(blocked, optionalBusyRanges, alignment, duration, 1);
+    for (int k = 1; k < blocked.length; ++k) {
+      blocked[k] += blocked[k - 1];
+    }
+
+    // first look for the start times without any busy range, then without mandatory ones
+    int size = result.size();
+    addAlignedTimeRanges(blocked, /* busyMask = */ -1L, lastStart, alignment, duration, result);
+    if (result.size() == size) {
+      addAlignedTimeRanges(blocked, /* busyMask = */ -MANDATORY_BUSY_RANGE, lastStart, alignment,
+          duration, result);
+    }
+  }
+
+  /** Adds {@code weight} to the difference array {@code blocked} for every start time, on a grid
+    * of {@code alignment} minutes, at which a meeting of {@code duration} minutes would overlap one
+    * of {@code busyRanges}.
+    */
+  private static void countBlockedStarts(long[] blocked, Collection<TimeRange> busyRanges,
+      int alignment, int duration, long weight) {
+    int cells = blocked.length - 1;
+    for (TimeRange when : busyRanges) {
+      if (when.duration() == 0) {
+        continue;
+      }
+      // start s is blocked by the busy range [b0, b1) iff b0 - duration < s < b1
+      int from = Math.max(Math.floorDiv(when.start() - duration, alignment) + 1, 0);
+      int to = Math.min((when.end() + alignment - 1) / alignment, cells);
+      if (from < to) {
+        blocked[from] += weight;
+        blocked[to] -= weight;
+      }
+    }
+  }
+
+  /** Appends to {@code result} the time range covered by every run of start times up to
+    * {@code lastStart} for which {@code blocked[k] & busyMask} is 0.
+    */
+  private static void addAlignedTimeRanges(long[] blocked, long busyMask, int lastStart,
+      int alignment, int duration, TimeRangeList result) {
+    int freeStart = 0;
+    while (freeStart <= lastStart) {
+      if ((blocked[freeStart] & busyMask) != 0) {
+        ++freeStart;
+        continue;
+      }
+      int freeEnd = freeStart;
+      while (freeEnd + 1 <= lastStart && (blocked[freeEnd + 1] & busyMask) == 0) {
+        ++freeEnd;
+      }
+      // the last meeting of the run starts at freeEnd * alignment
+      result.add(freeStart * alignment, freeEnd * alignment + duration);
+      freeStart = freeEnd + 1;
+    }
+  }
+
+  /** If at least one requested attendee is participating in the event, the attendees are busy while
+    * the event takes place
+    */
+  static List<TimeRange> getBusyRanges(Collection<Event> events, Collection<String> attendees) {
+    // look the names up once so that every event is checked with an intersection of int ids; the
+    // check is too cheap to be worth a parallel stream, a ForkJoinEngine checks the events of each
+    // of its tasks instead
+    int[] attendeeIds = AttendeeDictionary.shared().lookupAll(attendees);
+    return events.stream().filter(event -> event.containsRequestedAttendees(attendeeIds))
+                          .map(Event::getWhen)
+                          .collect(Collectors.toList());
+  }
+
+  /** A possible start time of a meeting together with its score. */
+  private static final class Candidate {
+    static final Comparator<Candidate> ORDER_BY_RANK =
+        Comparator.<Candidate>comparingDouble(candidate -> candidate.score)
+            .thenComparingInt(candidate -> candidate.start);
+
+    final int start;
+    final double score;
+
+    Candidate(int start, double score) {
+      this.start = start;
+      this.score = score;
+    }
+  }
+
+  /** Collects the occurrences of recurring events into primitive arrays, growing them as needed. */
+  private static final class OccurrenceBuffer implements RecurrenceRule.OccurrenceConsumer {
+    long[] starts = new long[64];
+    long[] ends = new long[64];
+    int count = 0;
+
+    @Override
+    public void accept(long start, long end) {
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+        ends = Arrays.copyOf(ends, count * 2);
+      }
+      starts[count] = start;
+      ends[count] = end;
+      ++count;
+    }
   }
 }
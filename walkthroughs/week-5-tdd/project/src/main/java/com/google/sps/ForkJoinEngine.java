@@ -0,0 +1,266 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the available time ranges by splitting the busy ranges across a {@code ForkJoinPool}. Every
+ * worker fills its own primitive difference array, the arrays are added together as the tasks are
+ * joined, and a parallel prefix sum turns the result into the number of meetings during every
+ * minute. When the query starts from the events, each task also checks the attendees of its own
+ * slice of them. Small inputs are counted on the calling thread, since forking them costs more
+ * than it saves. By default the size below which a query runs sequentially is derived from the
+ * parallelism of the pool.
+ */
+public final class ForkJoinEngine implements AvailabilityEngine {
+  // Number of tasks per worker thread. A few more tasks than threads evens out slow workers.
+  private static final int TASKS_PER_THREAD = 4;
+
+  // Number of busy ranges every worker must count for forking to pay off. Each worker adds its own
+  // difference array of a whole day into the result, so it should count at least as many ranges as
+  // the array has entries.
+  private static final int RANGES_PER_WORKER = TimeRange.WHOLE_DAY.duration() + 1;
+
+  // Weight of a mandatory meeting in the difference arrays. An optional meeting weighs 1, so that
+  // the high half of a count is the number of mandatory meetings and the low half the optional ones.
+  private static final long MANDATORY_MEETING = 1L << 32;
+
+  private final ForkJoinPool pool;
+  private final int sequentialThreshold;
+
+  /** Creates an engine that runs in the common pool. */
+  public ForkJoinEngine() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an engine that runs in {@code pool}, with a sequential threshold derived from the
+   * parallelism of {@code pool}.
+   */
+  public ForkJoinEngine(ForkJoinPool pool) {
+    this(pool, sequentialThreshold(pool));
+  }
+
+  /**
+   * Creates an engine that runs in {@code pool} and counts fewer than {@code sequentialThreshold}
+   * busy ranges on the calling thread.
+   */
+  public ForkJoinEngine(ForkJoinPool pool, int sequentialThreshold) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+
+    if (sequentialThreshold <= 0) {
+      throw new IllegalArgumentException("sequentialThreshold must be positive");
+    }
+
+    this.pool = pool;
+    this.sequentialThreshold = sequentialThreshold;
+  }
+
+  /**
+   * Returns the number of busy ranges below which forking into {@code pool} costs more than it
+   * saves: enough ranges to give {@code RANGES_PER_WORKER} to every worker. A pool without
+   * parallelism never forks.
+   */
+  static int sequentialThreshold(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+
+    int parallelism = pool.getParallelism();
+    if (parallelism <= 1) {
+      return Integer.MAX_VALUE;
+    }
+    return (int)Math.min(Integer.MAX_VALUE, (long)parallelism * RANGES_PER_WORKER);
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> busyRanges, int duration) {
+    TimeRange[] ranges = busyRanges.toArray(new TimeRange[0]);
+    long[] meetings = countMeetings(ranges.length, (i, changes) -> addRange(changes, ranges[i], 1));
+    TimeRangeList availableTimeRanges = new TimeRangeList();
+    addAvailableTimeRanges(meetings, /* busyMask = */ -1L, duration, availableTimeRanges);
+    return availableTimeRanges.toTimeRanges();
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration) {
+    TimeRangeList result = new TimeRangeList();
+    findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, duration, result);
+    return result.toTimeRanges();
+  }
+
+  /**
+   * Counts the mandatory and the optional busy ranges in the same tasks, weighting the mandatory
+   * ones by {@code MANDATORY_MEETING}, and scans the counts once per kind of answer.
+   */
+  @Override
+  public void findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration, TimeRangeList result) {
+    int mandatoryCount = mandatoryBusyRanges.size();
+    TimeRange[] ranges = new TimeRange[mandatoryCount + optionalBusyRanges.size()];
+    int count = 0;
+    for (TimeRange when : mandatoryBusyRanges) {
+      ranges[count++] = when;
+    }
+    for (TimeRange when : optionalBusyRanges) {
+      ranges[count++] = when;
+    }
+    long[] meetings = countMeetings(ranges.length, (i, changes) ->
+        addRange(changes, ranges[i], i < mandatoryCount ? MANDATORY_MEETING : 1));
+
+    int size = result.size();
+    addAvailableTimeRanges(meetings, /* busyMask = */ -1L, duration, result);
+    if (result.size() == size) {
+      addAvailableTimeRanges(meetings, /* busyMask = */ -MANDATORY_MEETING, duration, result);
+    }
+  }
+
+  /**
+   * Same as the default implementation, but every task filters its own slice of {@code events},
+   * so that checking the attendees of every event runs in parallel too.
+   */
+  @Override
+  public Collection<TimeRange> findAvailableTimeRangesFor(Collection<Event> events,
+      Collection<String> attendees, int duration) {
+    Event[] eventArray = events.toArray(new Event[0]);
+    int[] attendeeIds = AttendeeDictionary.shared().lookupAll(attendees);
+    long[] meetings = countMeetings(eventArray.length, (i, changes) -> {
+      if (eventArray[i].containsRequestedAttendees(attendeeIds)) {
+        addRange(changes, eventArray[i].getWhen(), 1);
+      }
+    });
+    TimeRangeList availableTimeRanges = new TimeRangeList();
+    addAvailableTimeRanges(meetings, /* busyMask = */ -1L, duration, availableTimeRanges);
+    return availableTimeRanges.toTimeRanges();
+  }
+
+  /**
+   * Returns the number of meetings during every minute of the day, given {@code size} inputs that
+   * {@code counter} adds to a difference array. Small inputs are counted on the calling thread.
+   */
+  private long[] countMeetings(int size, Counter counter) {
+    long[] meetings;
+    if (size < sequentialThreshold) {
+      meetings = countChanges(counter, 0, size);
+      prefixSum(meetings);
+    } else {
+      // Never split into more tasks than the pool can keep busy, however large the input is, so
+      // that the number of private arrays to add up stays small.
+      int leafSize = Math.max(sequentialThreshold / 2,
+          size / (pool.getParallelism() * TASKS_PER_THREAD) + 1);
+      meetings = pool.invoke(new CountTask(counter, 0, size, leafSize));
+      Arrays.parallelPrefix(meetings, Long::sum);
+    }
+    return meetings;
+  }
+
+  /**
+   * Returns a difference array of inputs {@code [from, to)} of {@code counter}: entry x is the
+   * number of ranges that start at minute x minus the number of ranges that end at minute x.
+   */
+  private static long[] countChanges(Counter counter, int from, int to) {
+    // One extra entry for the ranges that end with the day.
+    long[] changes = new long[TimeRange.WHOLE_DAY.duration() + 1];
+    for (int i = from; i < to; ++i) {
+      counter.count(i, changes);
+    }
+    return changes;
+  }
+
+  private static void addRange(long[] changes, TimeRange when, long weight) {
+    int start = Math.min(when.start(), TimeRange.WHOLE_DAY.duration());
+    int end = Math.min(when.end(), TimeRange.WHOLE_DAY.duration());
+    if (start < end) {
+      changes[start] += weight;
+      changes[end] -= weight;
+    }
+  }
+
+  private static void prefixSum(long[] values) {
+    for (int i = 1; i < values.length; ++i) {
+      values[i] += values[i - 1];
+    }
+  }
+
+  /**
+   * Appends to {@code result} the runs of minutes x where {@code meetings[x] & busyMask} is 0 that
+   * last at least {@code duration} minutes.
+   */
+  private static void addAvailableTimeRanges(long[] meetings, long busyMask, int duration,
+      TimeRangeList result) {
+    int day = TimeRange.WHOLE_DAY.duration();
+
+    int freeStart = 0;
+    while (freeStart < day) {
+      if ((meetings[freeStart] & busyMask) != 0) {
+        ++freeStart;
+        continue;
+      }
+      int freeEnd = freeStart;
+      while (freeEnd < day && (meetings[freeEnd] & busyMask) == 0) {
+        ++freeEnd;
+      }
+      if (freeEnd - freeStart >= duration) {
+        result.add(freeStart, freeEnd);
+      }
+      freeStart = freeEnd;
+    }
+  }
+
+  /** Adds input {@code i} of a query to the difference array {@code changes}, if it counts. */
+  private interface Counter {
+    void count(int i, long[] changes);
+  }
+
+  /** Counts a slice of the inputs into a difference array owned by the task. */
+  private static final class CountTask extends RecursiveTask<long[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Counter counter;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    CountTask(Counter counter, int from, int to, int leafSize) {
+      this.counter = counter;
+      this.from = from;
+      this.to = to;
+      this.leafSize = leafSize;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (to - from <= leafSize) {
+        return countChanges(counter, from, to);
+      }
+
+      int middle = (from + to) >>> 1;
+      CountTask left = new CountTask(counter, from, middle, leafSize);
+      left.fork();
+      long[] changes = new CountTask(counter, middle, to, leafSize).compute();
+      long[] leftChanges = left.join();
+      for (int i = 0; i < changes.length; ++i) {
+        changes[i] += leftChanges[i];
+      }
+      return changes;
+    }
+  }
+}
@@ -39,9 +39,36 @@ public final class MeetingRequest {
   // The duration of the meeting in minutes.
   private final long duration;
 
+  // The smallest number of attendees that must be free for the meeting to take place, or 0 if all
+  // of them must be free.
+  private final int quorum;
+
+  // The smallest room the meeting can take place in, in number of people, or 0 if the room must
+  // hold all of the attendees.
+  private int room_capacity = 0;
+
+  // The equipment the room of the meeting must offer. Use a set to avoid duplicates.
+  private final Collection<String> room_equipment = new HashSet<>();
+
+  // The granularity in minutes of the start times of the meeting, such as 15 for quarter hours, or 0
+  // if the meeting can start at any minute.
+  private int alignment = 0;
+
   public MeetingRequest(Collection<String> attendees, long duration) {
+    this(attendees, duration, /* quorum = */ 0);
+  }
+
+  /**
+   * Creates a request for a meeting that takes place if at least {@code quorum} of
+   * {@code attendees} are free, such as any 3 of 8 interviewers. A quorum of 0 means all of them.
+   */
+  public MeetingRequest(Collection<String> attendees, long duration, int quorum) {
     this.duration = duration;
     this.attendees.addAll(attendees);
+    if (quorum < 0 || quorum > this.attendees.size()) {
+      throw new IllegalArgumentException("quorum must be between 0 and the number of attendees");
+    }
+    this.quorum = quorum;
   }
 
   /**
@@ -73,4 +100,71 @@ public final class MeetingRequest {
   public long getDuration() {
     return duration;
   }
+
+  /**
+   * Returns the smallest number of attendees that must be free, or 0 if all of them must be free.
+   */
+  public int getQuorum() {
+    return quorum;
+  }
+
+  /**
+   * Returns the smallest number of people the room of the meeting must hold, or 0 if it was not
+   * set.
+   */
+  public int getRoomCapacity() {
+    return room_capacity;
+  }
+
+  /**
+   * Returns the smallest number of people the room of the meeting must hold: the room capacity if
+   * it was set, or else the number of attendees.
+   */
+  public int getRequiredRoomCapacity() {
+    return room_capacity > 0 ? room_capacity : attendees.size();
+  }
+
+  /**
+   * Sets the smallest number of people the room of the meeting must hold. A capacity of 0 means
+   * the number of attendees.
+   */
+  public void setRoomCapacity(int roomCapacity) {
+    if (roomCapacity < 0) {
+      throw new IllegalArgumentException("roomCapacity cannot be negative");
+    }
+    this.room_capacity = roomCapacity;
+  }
+
+  /**
+   * Returns a read-only copy of the equipment the room of the meeting must offer.
+   */
+  public Collection<String> getRoomEquipment() {
+    return Collections.unmodifiableCollection(room_equipment);
+  }
+
+  /**
+   * Adds one piece of equipment the room of the meeting must offer.
+   */
+  public void addRoomEquipment(String equipment) {
+    room_equipment.add(equipment);
+  }
+
+  /**
+   * Returns the granularity in minutes of the start times of the meeting, or 0 if it can start at
+   * any minute.
+   */
+  public int getAlignment() {
+    return alignment;
+  }
+
+  /**
+   * Makes the meeting start on multiples of {@code alignment} minutes, which must divide the day, or
+   * at any minute if {@code alignment} is 0.
+   */
+  public void setAlignment(int alignment) {
+    if (alignment < 0 || (alignment > 0 && TimeRange.WHOLE_DAY.duration() % alignment != 0)) {
+      throw new IllegalArgumentException("alignment must be 0 or divide the day");
+    }
+    this.alignment = alignment;
+  }
 }
@@ -0,0 +1,155 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Places several meetings on the same day so that no two meetings that share an attendee overlap,
+ * with backtracking search and forward checking.
+ *
+ * <p>The possible start times of every meeting are a {@code BusyMask} in which a busy slot is a
+ * start time that is ruled out. The search always places the meeting with the fewest start times
+ * left, at its earliest one, and then rules out the start times of the meetings that share an
+ * attendee with it and would now overlap. A meeting left without start times makes the search
+ * backtrack right away, long before the other meetings are tried.
+ */
+final class MultiMeetingScheduler {
+  private final int count;
+  private final int[] durations;
+  // the meetings that share an attendee with every meeting
+  private final int[][] neighbors;
+  private final BusyMask[] domains;
+  private final int[] starts;
+  private final long deadline;
+
+  /**
+   * Creates a search for {@code requests}, each of which can start at the times that are free in the
+   * matching mask of {@code domains}. The search gives up at {@code deadline}, a
+   * {@code System.nanoTime()} value.
+   */
+  MultiMeetingScheduler(List<MeetingRequest> requests, List<BusyMask> domains, long deadline) {
+    this.count = requests.size();
+    this.durations = new int[count];
+    this.neighbors = new int[count][];
+    this.domains = domains.toArray(new BusyMask[0]);
+    this.starts = new int[count];
+    this.deadline = deadline;
+
+    for (int i = 0; i < count; ++i) {
+      // a meeting without duration still needs a free minute to start at
+      durations[i] = (int)Math.max(requests.get(i).getDuration(), 1);
+      starts[i] = -1;
+      List<Integer> shared = new ArrayList<>();
+      for (int j = 0; j < count; ++j) {
+        if (j != i && !Collections.disjoint(
+            requests.get(i).getAttendees(), requests.get(j).getAttendees())) {
+          shared.add(j);
+        }
+      }
+      neighbors[i] = shared.stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  /**
+   * Returns the start time of every meeting, in the order of the requests, or null if the meetings
+   * cannot all be placed or the deadline passed first.
+   */
+  int[] solve() {
+    return search(/* placed = */ 0) ? starts.clone() : null;
+  }
+
+  private boolean search(int placed) {
+    if (placed == count) {
+      return true;
+    }
+    if (System.nanoTime() - deadline > 0) {
+      return false;
+    }
+
+    int meeting = mostConstrained();
+    BusyMask domain = domains[meeting];
+    BusyMask[] saved = new BusyMask[neighbors[meeting].length];
+    for (int start = domain.nextFree(0); start < domain.size(); start = domain.nextFree(start + 1)) {
+      starts[meeting] = start;
+      if (forwardCheck(meeting, start, saved) && search(placed + 1)) {
+        return true;
+      }
+      restore(meeting, saved);
+      if (System.nanoTime() - deadline > 0) {
+        break;
+      }
+    }
+    starts[meeting] = -1;
+    return false;
+  }
+
+  /**
+   * Returns the meeting that is not placed yet with the fewest possible start times.
+   */
+  private int mostConstrained() {
+    int best = -1;
+    int bestChoices = Integer.MAX_VALUE;
+    for (int i = 0; i < count; ++i) {
+      if (starts[i] < 0) {
+        int choices = domains[i].size() - domains[i].countBusy();
+        if (choices < bestChoices) {
+          best = i;
+          bestChoices = choices;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Rules out the start times of the neighbors of {@code meeting} that overlap it once it starts at
+   * {@code start}, keeping their previous domains in {@code saved}. Returns false if a neighbor has
+   * no start time left.
+   */
+  private boolean forwardCheck(int meeting, int start, BusyMask[] saved) {
+    boolean consistent = true;
+    for (int k = 0; k < neighbors[meeting].length; ++k) {
+      int neighbor = neighbors[meeting][k];
+      saved[k] = null;
+      if (starts[neighbor] >= 0 || !consistent) {
+        continue;
+      }
+
+      // the neighbor overlaps the meeting iff it starts in (start - its duration, start + duration)
+      int from = start - durations[neighbor] + 1;
+      int to = start + durations[meeting];
+      BusyMask domain = domains[neighbor];
+      if (domain.nextFree(from) < to) {
+        saved[k] = domain;
+        domains[neighbor] = new BusyMask(domain);
+        domains[neighbor].markBusy(from, to);
+        consistent = domains[neighbor].nextFree(0) < domains[neighbor].size();
+      }
+    }
+    return consistent;
+  }
+
+  private void restore(int meeting, BusyMask[] saved) {
+    for (int k = 0; k < neighbors[meeting].length; ++k) {
+      if (saved[k] != null) {
+        domains[neighbors[meeting][k]] = saved[k];
+        saved[k] = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * Static operations on a {@code TimeRange} packed into a single {@code long}: the start in the high
+ * 32 bits and the duration in the low 32 bits. Packed ranges have the same semantics as
+ * {@code TimeRange}, but live in primitive arrays such as {@code TimeRangeList} instead of on the
+ * heap. Two packed ranges are equal iff their {@code long} values are.
+ */
+public final class PackedTimeRange {
+  private static final long DURATION_MASK = 0xffffffffL;
+
+  private PackedTimeRange() {}
+
+  /**
+   * Returns the range starting at {@code start} that lasts {@code duration} minutes.
+   */
+  public static long fromStartDuration(int start, int duration) {
+    return ((long) start << 32) | (duration & DURATION_MASK);
+  }
+
+  /**
+   * Returns the range from {@code start} to {@code end}, which is part of the range iff
+   * {@code inclusive} is true, like {@code TimeRange.fromStartEnd}.
+   */
+  public static long fromStartEnd(int start, int end, boolean inclusive) {
+    return fromStartDuration(start, inclusive ? end - start + 1 : end - start);
+  }
+
+  /**
+   * Returns {@code range} packed into a {@code long}.
+   */
+  public static long of(TimeRange range) {
+    return fromStartDuration(range.start(), range.duration());
+  }
+
+  /**
+   * Returns {@code range} as a {@code TimeRange}.
+   */
+  public static TimeRange toTimeRange(long range) {
+    return TimeRange.fromStartDuration(start(range), duration(range));
+  }
+
+  /**
+   * Returns the start of {@code range} in minutes.
+   */
+  public static int start(long range) {
+    return (int) (range >> 32);
+  }
+
+  /**
+   * Returns the number of minutes between the start and end of {@code range}.
+   */
+  public static int duration(long range) {
+    return (int) range;
+  }
+
+  /**
+   * Returns the exclusive end of {@code range}.
+   */
+  public static int end(long range) {
+    return start(range) + duration(range);
+  }
+
+  /**
+   * Returns true iff some part of {@code a} falls within {@code b}, like {@code TimeRange.overlaps}.
+   */
+  public static boolean overlaps(long a, long b) {
+    return contains(a, start(b)) || contains(b, start(a));
+  }
+
+  /**
+   * Returns true iff {@code range} contains all of {@code other}, like
+   * {@code TimeRange.contains(TimeRange)}.
+   */
+  public static boolean contains(long range, long other) {
+    if (duration(range) <= 0) {
+      return false;
+    }
+    if (duration(other) <= 0) {
+      return contains(range, start(other));
+    }
+    return contains(range, start(other)) && contains(range, end(other) - 1);
+  }
+
+  /**
+   * Returns true iff minute {@code point} falls within {@code range}, like
+   * {@code TimeRange.contains(int)}.
+   */
+  public static boolean contains(long range, int point) {
+    return duration(range) > 0 && point >= start(range) && point < end(range);
+  }
+
+  /**
+   * Compares two ranges by their start time, like {@code TimeRange.ORDER_BY_START}.
+   */
+  public static int compareByStart(long a, long b) {
+    return Integer.compare(start(a), start(b));
+  }
+
+  /**
+   * Compares two ranges by their end time, like {@code TimeRange.ORDER_BY_END}.
+   */
+  public static int compareByEnd(long a, long b) {
+    return Integer.compare(end(a), end(b));
+  }
+
+  /**
+   * Returns the same text as {@code TimeRange.toString} for {@code range}.
+   */
+  public static String toString(long range) {
+    return String.format("Range: [%d, %d)", start(range), end(range));
+  }
+}
@@ -0,0 +1,173 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Finds the available time ranges by counting the number of meetings happening during every minute
+ * of the day with a difference array and its prefix sum. This is the default engine used by
+ * {@code FindMeetingQuery}.
+ */
+public final class PrefixSumEngine implements AvailabilityEngine {
+  // weight of a mandatory meeting when mandatory and optional meetings are counted together
+  private static final long MANDATORY_MEETING = 1L << 32;
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> busyRanges, int duration) {
+    // array that will represent the number of meetings happening during that minute
+    ArrayList<Integer> meetings = new ArrayList<Integer>();
+    // before processing the events, the number of meetings for each minute is 0
+    meetings.addAll(Collections.nCopies(TimeRange.END_OF_DAY - TimeRange.START_OF_DAY + 1, 0));
+
+    // update the number of meetings for the start and end time of every busy range
+    busyRanges.forEach(when -> updateNumberOfMeetings(meetings, when));
+
+    // after all events are processed, for each minute x, meetings[x] will represent the number of
+    // meetings that start at minute x, minus the number of meetings that end right before minute x
+
+    // precompute the prefix sum on the meetings array s.t meetings[x] will represent the number of
+    // meetings that happen at minute x:
+    // (before computing the sum):  [ .... +1 ........ -1 .... ]
+    // (after computing the sum) :  [..... +1 +1 ... +1 0 .... ]
+
+    return findAvailableTimeRanges(precomputePrefixSum(meetings), duration);
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration) {
+    TimeRangeList result = new TimeRangeList();
+    findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, duration, result);
+    return result.toTimeRanges();
+  }
+
+  @Override
+  public void findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration, TimeRangeList result) {
+    // count both kinds of meetings in one difference array: a mandatory meeting adds
+    // MANDATORY_MEETING, an optional one adds 1, so that after the prefix sum the high half of
+    // meetings[x] is the number of mandatory meetings at minute x and the low half the number of
+    // optional ones
+    long[] meetings = new long[TimeRange.END_OF_DAY - TimeRange.START_OF_DAY + 1];
+    mandatoryBusyRanges.forEach(when -> updateNumberOfMeetings(meetings, when, MANDATORY_MEETING));
+    optionalBusyRanges.forEach(when -> updateNumberOfMeetings(meetings, when, 1));
+    for (int i = TimeRange.START_OF_DAY + 1; i <= TimeRange.END_OF_DAY; ++ i) {
+      meetings[i] += meetings[i - 1];
+    }
+
+    // first look for the minutes without any meeting, then for the minutes without mandatory ones
+    int size = result.size();
+    findAvailableTimeRanges(meetings, /* busyMask = */ -1L, duration, result);
+    if (result.size() == size) {
+      findAvailableTimeRanges(meetings, /* busyMask = */ -MANDATORY_MEETING, duration, result);
+    }
+  }
+
+  private void updateNumberOfMeetings(long[] meetings, TimeRange when, long weight) {
+    if (when.start() > TimeRange.END_OF_DAY) {
+      // the range starts after the day ends, so it does not make any minute of the day busy
+      return;
+    }
+    meetings[when.start()] += weight;
+    if (when.end() <= TimeRange.END_OF_DAY) {
+      meetings[when.end()] -= weight;
+    }
+  }
+
+  /** Same as {@code findAvailableTimeRanges(ArrayList<Integer>, int)}, but minute x is busy iff
+    * {@code meetings[x] & busyMask} is not 0, and the ranges are appended to {@code result}.
+    */
+  private void findAvailableTimeRanges(long[] meetings, long busyMask, int duration,
+      TimeRangeList result) {
+    int lastUnavailableTime = TimeRange.START_OF_DAY - 1;
+
+    for (int endingTime = TimeRange.START_OF_DAY; endingTime <= TimeRange.END_OF_DAY; ++ endingTime) {
+      if ((meetings[endingTime] & busyMask) != 0) {
+        lastUnavailableTime = endingTime;
+      }
+      if (endingTime == TimeRange.END_OF_DAY || (meetings[endingTime + 1] & busyMask) != 0) {
+        if (endingTime > lastUnavailableTime && endingTime - lastUnavailableTime >= duration) {
+          result.add(PackedTimeRange.fromStartEnd(
+              lastUnavailableTime + 1, endingTime, /* inclusive = */ true));
+        }
+      }
+    }
+  }
+
+  /** In meetings array, add 1 to the start time of the meeting and substract 1 from the end time
+    * Only the endpoints are changed such that after all events are processed and the prefix sum is
+    * computed, the number of meetings increases in the array starting from start time and ending
+    * right before the end time.
+   */
+  private void updateNumberOfMeetings(ArrayList<Integer> meetings, TimeRange when) {
+    if (when.start() > TimeRange.END_OF_DAY) {
+      // the range starts after the day ends, so it does not make any minute of the day busy
+      return;
+    }
+    // mark that a new meeting starts at when.start()
+    meetings.set(when.start(), meetings.get(when.start()) + 1);
+    // mark that a new meeting ends right before when.end()
+    if (when.end() <= TimeRange.END_OF_DAY) {
+      // only update the end time of events that end before the day ends
+      meetings.set(when.end(), meetings.get(when.end()) - 1);
+    }
+  }
+
+  /** Given meetings array, returns meetingsSum, the prefix sum array such that meetingsSum[x] will
+    * represent the number of meetings that happen at minute x.
+    */
+  private ArrayList<Integer> precomputePrefixSum(ArrayList<Integer> meetings) {
+    ArrayList<Integer> meetingsSum = new ArrayList<Integer>();
+
+    // compute the sum starting from the second element because the prefix sum for the first
+    // element is the first element
+    meetingsSum.add(meetings.get(0));
+    for (int i = TimeRange.START_OF_DAY + 1; i <= TimeRange.END_OF_DAY; ++ i) {
+      meetingsSum.add(meetingsSum.get(i - 1) + meetings.get(i));
+    }
+    return meetingsSum;
+  }
+
+  /** Given meetings = an array where each element represents the number of meeting that occur at that
+   * minute, and a duration, returns a Collection of time ranges in which the meeting lasting duration
+   * minutes can happen.
+  */
+  private Collection<TimeRange> findAvailableTimeRanges(ArrayList<Integer> meetings, int duration) {
+    ArrayList<TimeRange> availableTimeRange = new ArrayList<TimeRange>();
+
+    int lastUnavailableTime = TimeRange.START_OF_DAY - 1;
+
+    for (int endingTime = TimeRange.START_OF_DAY; endingTime <= TimeRange.END_OF_DAY; ++ endingTime) {
+      if (meetings.get(endingTime) != 0) {
+        // at least one meeting is scheduled during minute endingTime
+        lastUnavailableTime = endingTime;
+      }
+      if (endingTime == TimeRange.END_OF_DAY || meetings.get(endingTime + 1) != 0) {
+        // there are no meetings during (lastUnavailableTime, endingTime]; skip the empty interval
+        // left behind when endingTime itself is busy, which zero-length requests would accept
+        if (endingTime > lastUnavailableTime && endingTime - lastUnavailableTime >= duration) {
+          // add [lastUnavailableTime + 1, endingTime] as an available time range for the meeting
+          TimeRange timeRange = TimeRange.fromStartEnd(lastUnavailableTime + 1, endingTime, /* inclusive = */ true);
+          availableTimeRange.add(timeRange);
+        }
+      }
+    }
+
+    return availableTimeRange;
+  }
+}
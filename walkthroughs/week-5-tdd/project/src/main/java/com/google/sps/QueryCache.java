@@ -0,0 +1,214 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of meeting query results. Every entry remembers the version of
+ * the calendar it was computed from, and seeing a newer version drops every older entry, so a
+ * result is never served after the events it depends on have changed.
+ */
+public final class QueryCache {
+  private final int maxEntries;
+  private final Map<Key, Collection<TimeRange>> entries;
+  private long currentVersion = Long.MIN_VALUE;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Creates a cache that holds at most {@code maxEntries} results.
+   */
+  public QueryCache(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+
+    this.maxEntries = maxEntries;
+    // An access-ordered map keeps the least recently used entry first.
+    this.entries = new LinkedHashMap<Key, Collection<TimeRange>>(16, 0.75f, /* accessOrder = */ true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Collection<TimeRange>> eldest) {
+        if (size() > QueryCache.this.maxEntries) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached result of meeting {@code request} with {@code optionalAttendees} on version
+   * {@code version} of the calendar, or computes it with {@code query} and caches it. The order of
+   * the attendees does not matter. The returned collection is read-only.
+   */
+  public Collection<TimeRange> get(MeetingRequest request, Collection<String> optionalAttendees,
+      long version, Supplier<Collection<TimeRange>> query) {
+    Key key = new Key(request.getAttendees(), optionalAttendees, request.getDuration(),
+        request.getQuorum(), request.getAlignment(), version);
+
+    synchronized (entries) {
+      if (version > currentVersion) {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        currentVersion = version;
+      }
+      Collection<TimeRange> result = entries.get(key);
+      if (result != null) {
+        hits.incrementAndGet();
+        return result;
+      }
+    }
+
+    // Run the query without holding the lock so that other requests are not blocked by it. Two
+    // requests missing the same key at once both compute it, which is harmless.
+    misses.incrementAndGet();
+    Collection<TimeRange> result = Collections.unmodifiableList(new ArrayList<>(query.get()));
+    synchronized (entries) {
+      if (version == currentVersion) {
+        entries.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops every cached result.
+   */
+  public void invalidateAll() {
+    synchronized (entries) {
+      invalidations.addAndGet(entries.size());
+      entries.clear();
+    }
+  }
+
+  /**
+   * Returns a snapshot of the cache counters.
+   */
+  public Stats getStats() {
+    synchronized (entries) {
+      return new Stats(hits.get(), misses.get(), evictions.get(), invalidations.get(), entries.size(),
+          maxEntries);
+    }
+  }
+
+  /**
+   * Counters of a {@code QueryCache} at one point in time.
+   */
+  public static final class Stats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+    private final int maxSize;
+
+    private Stats(long hits, long misses, long evictions, long invalidations, int size, int maxSize) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.invalidations = invalidations;
+      this.size = size;
+      this.maxSize = maxSize;
+    }
+
+    /** Returns the number of results served from the cache. */
+    public long getHits() {
+      return hits;
+    }
+
+    /** Returns the number of results that had to be computed. */
+    public long getMisses() {
+      return misses;
+    }
+
+    /** Returns the number of results dropped to stay within the size limit. */
+    public long getEvictions() {
+      return evictions;
+    }
+
+    /** Returns the number of results dropped because the calendar changed. */
+    public long getInvalidations() {
+      return invalidations;
+    }
+
+    /** Returns the number of cached results. */
+    public int getSize() {
+      return size;
+    }
+
+    /** Returns the largest number of results the cache holds. */
+    public int getMaxSize() {
+      return maxSize;
+    }
+  }
+
+  /**
+   * Canonical form of a query: attendees are sorted and deduplicated so that equal queries written
+   * in a different order share an entry.
+   */
+  private static final class Key {
+    private final List<String> attendees;
+    private final List<String> optionalAttendees;
+    private final long duration;
+    private final int quorum;
+    private final int alignment;
+    private final long version;
+
+    Key(Collection<String> attendees, Collection<String> optionalAttendees, long duration,
+        int quorum, int alignment, long version) {
+      this.attendees = new ArrayList<>(new TreeSet<>(attendees));
+      this.optionalAttendees = new ArrayList<>(new TreeSet<>(optionalAttendees));
+      this.duration = duration;
+      this.quorum = quorum;
+      this.alignment = alignment;
+      this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return duration == key.duration && quorum == key.quorum && alignment == key.alignment
+          && version == key.version
+          && attendees.equals(key.attendees)
+          && optionalAttendees.equals(key.optionalAttendees);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = attendees.hashCode();
+      hash = 31 * hash + optionalAttendees.hashCode();
+      hash = 31 * hash + Long.hashCode(duration);
+      hash = 31 * hash + quorum;
+      hash = 31 * hash + alignment;
+      return 31 * hash + Long.hashCode(version);
+    }
+  }
+}
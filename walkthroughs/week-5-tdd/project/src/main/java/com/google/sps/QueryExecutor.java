@@ -0,0 +1,166 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs meeting queries on a fixed number of threads with a bounded queue in front of them. When the
+ * queue is full new work is rejected right away instead of waiting, so that a burst of slow queries
+ * makes callers back off rather than making every query slower.
+ */
+public final class QueryExecutor {
+  private final ThreadPoolExecutor executor;
+  private final int queueCapacity;
+
+  private final AtomicLong accepted = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+  /**
+   * Creates an executor that runs {@code threads} queries at once and keeps at most
+   * {@code queueCapacity} more waiting.
+   */
+  public QueryExecutor(int threads, int queueCapacity) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be positive");
+    }
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("queueCapacity must be positive");
+    }
+
+    this.queueCapacity = queueCapacity;
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "query-worker-" + threadCount.incrementAndGet());
+      // the workers must not keep the server from shutting down
+      thread.setDaemon(true);
+      return thread;
+    };
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+  }
+
+  /**
+   * Queues {@code task} to run on one of the threads. Returns false, without running the task, if
+   * the queue is full.
+   */
+  public boolean submit(Runnable task) {
+    try {
+      executor.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          completed.incrementAndGet();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.incrementAndGet();
+      return false;
+    }
+    accepted.incrementAndGet();
+    maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    return true;
+  }
+
+  /**
+   * Stops accepting work. Queued tasks still run.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Returns a snapshot of the executor counters.
+   */
+  public Stats getStats() {
+    return new Stats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+        executor.getQueue().size(), maxQueueDepth.get(), queueCapacity, accepted.get(),
+        rejected.get(), completed.get());
+  }
+
+  /**
+   * Counters of a {@code QueryExecutor} at one point in time.
+   */
+  public static final class Stats {
+    private final int threads;
+    private final int active;
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final int queueCapacity;
+    private final long accepted;
+    private final long rejected;
+    private final long completed;
+
+    private Stats(int threads, int active, int queueDepth, int maxQueueDepth, int queueCapacity,
+        long accepted, long rejected, long completed) {
+      this.threads = threads;
+      this.active = active;
+      this.queueDepth = queueDepth;
+      this.maxQueueDepth = maxQueueDepth;
+      this.queueCapacity = queueCapacity;
+      this.accepted = accepted;
+      this.rejected = rejected;
+      this.completed = completed;
+    }
+
+    /** Returns the number of threads that run queries. */
+    public int getThreads() {
+      return threads;
+    }
+
+    /** Returns the number of queries running right now. */
+    public int getActive() {
+      return active;
+    }
+
+    /** Returns the number of queries waiting for a thread. */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /** Returns the largest number of queries that have been waiting at once. */
+    public int getMaxQueueDepth() {
+      return maxQueueDepth;
+    }
+
+    /** Returns the largest number of queries that can wait. */
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    /** Returns the number of queries that were queued. */
+    public long getAccepted() {
+      return accepted;
+    }
+
+    /** Returns the number of queries turned away because the queue was full. */
+    public long getRejected() {
+      return rejected;
+    }
+
+    /** Returns the number of queries that finished running. */
+    public long getCompleted() {
+      return completed;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes when a recurring event takes place: a first occurrence repeated every {@code interval}
+ * days or weeks until an end time, minus a set of cancelled occurrences. Occurrences are never
+ * stored. They are computed on demand, and only for the window a query asks about.
+ *
+ * <p>Occurrences are a fixed number of milliseconds apart, so a rule follows UTC and does not
+ * shift with daylight saving time.
+ */
+public final class RecurrenceRule {
+  /** How often a rule repeats. */
+  public enum Frequency {
+    DAILY(TimeUnit.DAYS.toMillis(1)),
+    WEEKLY(TimeUnit.DAYS.toMillis(7));
+
+    private final long period;
+
+    Frequency(long period) {
+      this.period = period;
+    }
+  }
+
+  /**
+   * Receives the occurrences of a rule, in ascending order, as [start, end) in epoch milliseconds.
+   */
+  interface OccurrenceConsumer {
+    void accept(long start, long end);
+  }
+
+  private final Frequency frequency;
+  private final int interval;
+  private final EpochRange first;
+  private final long until;
+  // Start times of the cancelled occurrences, sorted.
+  private final long[] exceptions;
+
+  /**
+   * Creates a new rule.
+   *
+   * @param frequency Whether the rule repeats daily or weekly. Must be non-null.
+   * @param interval The number of days or weeks between occurrences. Must be positive.
+   * @param first The first occurrence. Must be non-null.
+   * @param until No occurrence starts at or after this time. Use {@code Long.MAX_VALUE} for a rule
+   *     that never ends.
+   * @param exceptions The start times of the occurrences that do not take place. Must be non-null.
+   */
+  public RecurrenceRule(Frequency frequency, int interval, EpochRange first, long until,
+      Collection<Long> exceptions) {
+    if (frequency == null) {
+      throw new IllegalArgumentException("frequency cannot be null");
+    }
+
+    if (interval <= 0) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+
+    if (first == null) {
+      throw new IllegalArgumentException("first cannot be null");
+    }
+
+    if (exceptions == null) {
+      throw new IllegalArgumentException("exceptions cannot be null. Use empty array instead.");
+    }
+
+    this.frequency = frequency;
+    this.interval = interval;
+    this.first = first;
+    this.until = until;
+    this.exceptions = new long[exceptions.size()];
+    int i = 0;
+    for (long exception : exceptions) {
+      this.exceptions[i++] = exception;
+    }
+    Arrays.sort(this.exceptions);
+  }
+
+  /**
+   * Returns a rule that repeats {@code first} every day, forever.
+   */
+  public static RecurrenceRule daily(EpochRange first) {
+    return new RecurrenceRule(Frequency.DAILY, 1, first, Long.MAX_VALUE, Collections.emptyList());
+  }
+
+  /**
+   * Returns a rule that repeats {@code first} every week, forever.
+   */
+  public static RecurrenceRule weekly(EpochRange first) {
+    return new RecurrenceRule(Frequency.WEEKLY, 1, first, Long.MAX_VALUE, Collections.emptyList());
+  }
+
+  /**
+   * Returns the time between the starts of two consecutive occurrences, in milliseconds.
+   */
+  public long getPeriod() {
+    return frequency.period * interval;
+  }
+
+  /**
+   * Returns the occurrences that overlap {@code window}, in ascending order.
+   */
+  public List<EpochRange> occurrences(EpochRange window) {
+    List<EpochRange> occurrences = new ArrayList<>();
+    forEachOccurrence(window.start(), window.end(),
+        (start, end) -> occurrences.add(EpochRange.fromStartEnd(start, end)));
+    return occurrences;
+  }
+
+  /**
+   * Reports to {@code out} every occurrence that overlaps [{@code windowStart}, {@code windowEnd}).
+   * The cost depends on the number of occurrences in the window, not on how long ago the rule
+   * started.
+   */
+  void forEachOccurrence(long windowStart, long windowEnd, OccurrenceConsumer out) {
+    long period = getPeriod();
+    long duration = first.duration();
+    if (duration <= 0) {
+      return;
+    }
+
+    // Jump straight to the first occurrence that ends after the window starts.
+    long index = 0;
+    if (first.end() <= windowStart) {
+      index = (windowStart - first.end()) / period + 1;
+    }
+    long lastStart = Math.min(windowEnd, until);
+    for (long start = first.start() + index * period; start < lastStart; start += period) {
+      if (Arrays.binarySearch(exceptions, start) < 0) {
+        out.accept(start, start + duration);
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A bookable resource, such as a meeting room. Its bookings are ordinary {@code Event}s that list
+ * the resource's name among their attendees, so the resource is busy whenever one of them takes
+ * place. Resources are considered read-only.
+ */
+public final class Resource {
+  private final String name;
+  private final int capacity;
+  private final Set<String> equipment = new HashSet<>();
+
+  /**
+   * Creates a new resource.
+   *
+   * @param name The name under which the resource attends its bookings. Must be non-null.
+   * @param capacity The number of people the resource holds. Must not be negative.
+   * @param equipment The equipment the resource offers, like "projector". Must be non-null.
+   */
+  public Resource(String name, int capacity, Collection<String> equipment) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity cannot be negative");
+    }
+
+    if (equipment == null) {
+      throw new IllegalArgumentException("equipment cannot be null. Use empty array instead.");
+    }
+
+    this.name = name;
+    this.capacity = capacity;
+    this.equipment.addAll(equipment);
+  }
+
+  /**
+   * Returns the name of this resource, which is also the attendee name of its bookings.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of people this resource holds.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns a read-only set of the equipment this resource offers.
+   */
+  public Set<String> getEquipment() {
+    return Collections.unmodifiableSet(equipment);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Resource)) {
+      return false;
+    }
+    Resource resource = (Resource) other;
+    return name.equals(resource.name) && capacity == resource.capacity
+        && equipment.equals(resource.equipment);
+  }
+}
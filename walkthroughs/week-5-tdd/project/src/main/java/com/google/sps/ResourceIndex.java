@@ -0,0 +1,102 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only index of resources by capacity and equipment, so that finding the rooms a meeting can
+ * use does not look at every room. Resources are kept sorted by capacity, which turns a minimum
+ * capacity into a suffix of that order, and every piece of equipment has a bitset of the positions
+ * of the resources offering it, which turns the required equipment into a few word-wide ANDs.
+ */
+public final class ResourceIndex {
+  private final List<Resource> byCapacity;
+  private final int[] capacities;
+  private final Map<String, BitSet> positionsByEquipment = new HashMap<>();
+
+  /**
+   * Creates an index of {@code resources}.
+   *
+   * @param resources The resources to index. Must be non-null.
+   */
+  public ResourceIndex(Collection<Resource> resources) {
+    if (resources == null) {
+      throw new IllegalArgumentException("resources cannot be null. Use empty array instead.");
+    }
+
+    List<Resource> sorted = new ArrayList<>(resources);
+    sorted.sort(Comparator.comparingInt(Resource::getCapacity).thenComparing(Resource::getName));
+    byCapacity = Collections.unmodifiableList(sorted);
+    capacities = new int[sorted.size()];
+    for (int i = 0; i < sorted.size(); ++i) {
+      Resource resource = sorted.get(i);
+      capacities[i] = resource.getCapacity();
+      for (String equipment : resource.getEquipment()) {
+        positionsByEquipment.computeIfAbsent(equipment, key -> new BitSet()).set(i);
+      }
+    }
+  }
+
+  /**
+   * Returns the resources that hold at least {@code minimumCapacity} people and offer all of
+   * {@code equipment}, from the smallest to the largest.
+   */
+  public List<Resource> find(int minimumCapacity, Collection<String> equipment) {
+    BitSet matches = new BitSet(capacities.length);
+    matches.set(firstWithCapacity(minimumCapacity), capacities.length);
+    for (String required : equipment) {
+      BitSet offering = positionsByEquipment.get(required);
+      if (offering == null) {
+        return new ArrayList<>();
+      }
+      matches.and(offering);
+    }
+
+    List<Resource> result = new ArrayList<>(matches.cardinality());
+    for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+      result.add(byCapacity.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Returns a read-only list of every indexed resource, from the smallest to the largest.
+   */
+  public List<Resource> getResources() {
+    return byCapacity;
+  }
+
+  /** Returns the position of the first resource holding at least {@code capacity} people. */
+  private int firstWithCapacity(int capacity) {
+    int low = 0;
+    int high = capacities.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (capacities[middle] < capacity) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,32 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public final class Resources {
+  private static final String PROJECTOR = "projector";
+  private static final String VIDEO_CONFERENCE = "video conference";
+  private static final String WHITEBOARD = "whiteboard";
+
+  public static final Resource[] resources = {
+      new Resource("Room Aurora", 4, Arrays.asList(WHITEBOARD)),
+      new Resource("Room Borealis", 6, Arrays.asList(VIDEO_CONFERENCE, WHITEBOARD)),
+      new Resource("Room Cirrus", 8, Arrays.asList(PROJECTOR)),
+      new Resource("Room Nimbus", 12, Arrays.asList(PROJECTOR, VIDEO_CONFERENCE)),
+      new Resource("Room Stratus", 30, Arrays.asList(PROJECTOR, VIDEO_CONFERENCE, WHITEBOARD)),
+      new Resource("Phone Booth", 1, Collections.emptyList()),
+  };
+}
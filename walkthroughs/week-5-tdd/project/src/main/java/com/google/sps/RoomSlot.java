@@ -0,0 +1,65 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+/**
+ * A time range during which a meeting can take place in a given room.
+ */
+public final class RoomSlot {
+  private final TimeRange when;
+  private final Resource room;
+
+  public RoomSlot(TimeRange when, Resource room) {
+    if (when == null) {
+      throw new IllegalArgumentException("when cannot be null");
+    }
+
+    if (room == null) {
+      throw new IllegalArgumentException("room cannot be null");
+    }
+
+    this.when = when;
+    this.room = room;
+  }
+
+  /**
+   * Returns the time range during which the meeting can start and end in the room.
+   */
+  public TimeRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns the room.
+   */
+  public Resource getRoom() {
+    return room;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * when.hashCode() + room.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof RoomSlot && when.equals(((RoomSlot) other).when)
+        && room.equals(((RoomSlot) other).room);
+  }
+
+  @Override
+  public String toString() {
+    return when + " in " + room.getName();
+  }
+}
@@ -0,0 +1,92 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+/**
+ * Ranks the possible start times of a meeting for {@code FindMeetingQuery.queryTopSlots}. Lower
+ * scores are better. Start times are offered from the earliest to the latest, and the query stops
+ * as soon as {@code lowerBound} shows that no later start time can beat the ones it already has.
+ */
+public interface SlotScorer {
+  /**
+   * Returns the score of a meeting lasting {@code duration} minutes that starts at {@code start},
+   * in the free time range [{@code freeStart}, {@code freeEnd}).
+   */
+  double score(int start, int duration, int freeStart, int freeEnd);
+
+  /**
+   * Returns a score that no meeting lasting {@code duration} minutes and starting at {@code start}
+   * or later can beat. Since start times with equal scores are ranked by time, a later start time
+   * scoring exactly the bound does not beat an earlier one. Returning
+   * {@code Double.NEGATIVE_INFINITY} is always correct, but then every start time of the day is
+   * scored.
+   */
+  double lowerBound(int start, int duration);
+
+  /**
+   * Returns a scorer that prefers the earliest start times.
+   */
+  static SlotScorer earliest() {
+    return new SlotScorer() {
+      @Override
+      public double score(int start, int duration, int freeStart, int freeEnd) {
+        return start;
+      }
+
+      @Override
+      public double lowerBound(int start, int duration) {
+        return start;
+      }
+    };
+  }
+
+  /**
+   * Returns a scorer that prefers the start times closest to {@code preferredStart}, in minutes
+   * since the start of the day.
+   */
+  static SlotScorer closestTo(int preferredStart) {
+    return new SlotScorer() {
+      @Override
+      public double score(int start, int duration, int freeStart, int freeEnd) {
+        return Math.abs(start - preferredStart);
+      }
+
+      @Override
+      public double lowerBound(int start, int duration) {
+        // Start times before the preferred one may still get closer to it.
+        return Math.max(0, start - preferredStart);
+      }
+    };
+  }
+
+  /**
+   * Returns a scorer that prefers meetings that leave the free time around them in one piece, by
+   * scoring the shorter of the two gaps the meeting leaves in its free time range. A meeting right
+   * next to another meeting, or to the start or end of the day, scores 0. Start times with equal
+   * scores are ranked by time, so the query stops once it has found enough meetings scoring 0.
+   */
+  static SlotScorer leastFragmentation() {
+    return new SlotScorer() {
+      @Override
+      public double score(int start, int duration, int freeStart, int freeEnd) {
+        return Math.min(start - freeStart, freeEnd - (start + duration));
+      }
+
+      @Override
+      public double lowerBound(int start, int duration) {
+        return 0;
+      }
+    };
+  }
+}
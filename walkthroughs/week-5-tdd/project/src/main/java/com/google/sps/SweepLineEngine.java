@@ -0,0 +1,220 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds the available time ranges by sorting the bounds of the busy ranges and sweeping over them
+ * once. The cost is O(E log E) in the number of busy ranges and does not depend on the length of
+ * the searched window or on its resolution, so the same sweep answers single-day queries in minutes
+ * and multi-week queries in milliseconds (see {@code EpochRange}).
+ */
+public final class SweepLineEngine implements AvailabilityEngine {
+  // Kinds of bounds in the single sweep over mandatory and optional busy ranges, kept in the low
+  // bits of each bound so that sorting the bounds puts ends before starts at the same minute.
+  private static final int MANDATORY_END = 0;
+  private static final int OPTIONAL_END = 1;
+  private static final int MANDATORY_START = 2;
+  private static final int OPTIONAL_START = 3;
+  private static final int KIND_BITS = 2;
+
+  // Depth added by a mandatory busy range. An optional one adds 1, so that the high half of the
+  // depth is the number of mandatory ranges and the low half the number of optional ones.
+  private static final long MANDATORY_MEETING = 1L << 32;
+
+  /**
+   * Receives the free ranges found by a sweep, in ascending order.
+   */
+  interface FreeRangeConsumer {
+    void accept(long start, long end);
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> busyRanges, int duration) {
+    long[] starts = new long[busyRanges.size()];
+    long[] ends = new long[busyRanges.size()];
+    int count = 0;
+    for (TimeRange when : busyRanges) {
+      starts[count] = when.start();
+      ends[count] = when.end();
+      ++count;
+    }
+
+    TimeRangeList availableTimeRanges = new TimeRangeList();
+    sweep(starts, ends, count, TimeRange.START_OF_DAY, TimeRange.WHOLE_DAY.end(), duration,
+        (start, end) -> availableTimeRanges.add((int) start, (int) end));
+    return availableTimeRanges.toTimeRanges();
+  }
+
+  @Override
+  public Collection<TimeRange> findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration) {
+    TimeRangeList result = new TimeRangeList();
+    findAvailableTimeRanges(mandatoryBusyRanges, optionalBusyRanges, duration, result);
+    return result.toTimeRanges();
+  }
+
+  /**
+   * Sorts the bounds of both kinds of busy ranges together and sweeps over them once, following
+   * the gaps between all the ranges and the gaps between the mandatory ones at the same time.
+   */
+  @Override
+  public void findAvailableTimeRanges(Collection<TimeRange> mandatoryBusyRanges,
+      Collection<TimeRange> optionalBusyRanges, int duration, TimeRangeList result) {
+    long[] bounds = new long[2 * (mandatoryBusyRanges.size() + optionalBusyRanges.size())];
+    int count = 0;
+    for (TimeRange when : mandatoryBusyRanges) {
+      count = addBounds(bounds, count, when, MANDATORY_START, MANDATORY_END);
+    }
+    for (TimeRange when : optionalBusyRanges) {
+      count = addBounds(bounds, count, when, OPTIONAL_START, OPTIONAL_END);
+    }
+    Arrays.sort(bounds, 0, count);
+
+    TimeRangeList mandatoryFree = new TimeRangeList();
+    int size = result.size();
+    long depth = 0;
+    int allFreeStart = TimeRange.START_OF_DAY;
+    int mandatoryFreeStart = TimeRange.START_OF_DAY;
+    for (int i = 0; i < count; ++i) {
+      int time = (int) (bounds[i] >>> KIND_BITS);
+      int kind = (int) (bounds[i] & ((1 << KIND_BITS) - 1));
+      long weight = kind == MANDATORY_START || kind == MANDATORY_END ? MANDATORY_MEETING : 1;
+      long nextDepth = kind >= MANDATORY_START ? depth + weight : depth - weight;
+
+      if (depth == 0 && nextDepth != 0) {
+        report(allFreeStart, time, duration, result);
+      } else if (depth != 0 && nextDepth == 0) {
+        allFreeStart = time;
+      }
+      long mandatoryDepth = depth & -MANDATORY_MEETING;
+      long nextMandatoryDepth = nextDepth & -MANDATORY_MEETING;
+      if (mandatoryDepth == 0 && nextMandatoryDepth != 0) {
+        report(mandatoryFreeStart, time, duration, mandatoryFree);
+      } else if (mandatoryDepth != 0 && nextMandatoryDepth == 0) {
+        mandatoryFreeStart = time;
+      }
+      depth = nextDepth;
+    }
+    report(allFreeStart, TimeRange.WHOLE_DAY.end(), duration, result);
+
+    if (result.size() == size) {
+      report(mandatoryFreeStart, TimeRange.WHOLE_DAY.end(), duration, mandatoryFree);
+      for (int i = 0; i < mandatoryFree.size(); ++i) {
+        result.add(mandatoryFree.get(i));
+      }
+    }
+  }
+
+  /**
+   * Appends the bounds of {@code when}, clipped to the day, to {@code bounds} at {@code count} and
+   * returns the new number of bounds. Empty ranges add no bounds.
+   */
+  private static int addBounds(long[] bounds, int count, TimeRange when, int startKind,
+      int endKind) {
+    int start = Math.max(when.start(), TimeRange.START_OF_DAY);
+    int end = Math.min(when.end(), TimeRange.WHOLE_DAY.end());
+    if (start < end) {
+      bounds[count++] = (long) start << KIND_BITS | startKind;
+      bounds[count++] = (long) end << KIND_BITS | endKind;
+    }
+    return count;
+  }
+
+  private static void report(int start, int end, int duration, TimeRangeList out) {
+    if (start < end && end - start >= duration) {
+      out.add(start, end);
+    }
+  }
+
+  /**
+   * Returns the ranges of {@code window}, in ascending order, that contain no part of
+   * {@code busyRanges} and last at least {@code duration} milliseconds.
+   */
+  public List<EpochRange> findAvailableRanges(
+      Collection<EpochRange> busyRanges, EpochRange window, long duration) {
+    long[] starts = new long[busyRanges.size()];
+    long[] ends = new long[busyRanges.size()];
+    int count = 0;
+    for (EpochRange when : busyRanges) {
+      starts[count] = when.start();
+      ends[count] = when.end();
+      ++count;
+    }
+
+    List<EpochRange> availableRanges = new ArrayList<>();
+    sweep(starts, ends, count, window.start(), window.end(), duration,
+        (start, end) -> availableRanges.add(EpochRange.fromStartEnd(start, end)));
+    return availableRanges;
+  }
+
+  /**
+   * Reports to {@code out} every gap of [{@code windowStart}, {@code windowEnd}) that is not covered
+   * by the first {@code count} busy ranges and lasts at least {@code duration}. Busy range i is
+   * [{@code starts[i]}, {@code ends[i]}); both arrays are clipped and sorted in place.
+   */
+  static void sweep(long[] starts, long[] ends, int count, long windowStart, long windowEnd,
+      long duration, FreeRangeConsumer out) {
+    // Drop the ranges that are empty or outside of the window, and clip the rest to the window.
+    int kept = 0;
+    for (int i = 0; i < count; ++i) {
+      long start = Math.max(starts[i], windowStart);
+      long end = Math.min(ends[i], windowEnd);
+      if (start < end) {
+        starts[kept] = start;
+        ends[kept] = end;
+        ++kept;
+      }
+    }
+
+    // The number of ranges covering any point only depends on how many starts and ends come before
+    // it, not on which start belongs to which end, so both bounds can be sorted on their own.
+    Arrays.sort(starts, 0, kept);
+    Arrays.sort(ends, 0, kept);
+
+    long freeStart = windowStart;
+    int depth = 0;
+    int nextEnd = 0;
+    for (int nextStart = 0; nextStart < kept; ++nextStart) {
+      // Close every range that ends before the next one starts. A range ending exactly where another
+      // starts leaves an empty gap, which is never reported.
+      while (ends[nextEnd] <= starts[nextStart]) {
+        if (--depth == 0) {
+          freeStart = ends[nextEnd];
+        }
+        ++nextEnd;
+      }
+      if (depth == 0) {
+        report(freeStart, starts[nextStart], duration, out);
+      }
+      ++depth;
+    }
+    if (kept > 0) {
+      // The last range to end closes the final busy block.
+      freeStart = ends[kept - 1];
+    }
+    report(freeStart, windowEnd, duration, out);
+  }
+
+  private static void report(long start, long end, long duration, FreeRangeConsumer out) {
+    if (start < end && end - start >= duration) {
+      out.accept(start, end);
+    }
+  }
+}
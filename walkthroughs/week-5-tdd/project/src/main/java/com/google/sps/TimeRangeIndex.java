@@ -0,0 +1,134 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only index of items by the time range they take place in, answering "everything that
+ * overlaps [a, b)" and "everything happening at minute m" without comparing every item.
+ *
+ * <p>The items are sorted by start time and viewed as a balanced binary search tree whose root is
+ * the middle item, like a binary search. Every node also stores the latest end time in its subtree,
+ * so a search skips every subtree that ends before the window starts, and stops going right once
+ * items start after the window ends. Only subtrees holding at least one result are entered, so a
+ * query returning k items looks at O((k + 1) log n) of the n items.
+ *
+ * <p>Two ranges overlap if they share at least one minute, so empty ranges overlap nothing.
+ */
+public final class TimeRangeIndex<T> {
+  private final List<T> items;
+  private final int[] starts;
+  private final int[] ends;
+  // maxEnds[i] is the latest end of the subtree whose root is item i.
+  private final int[] maxEnds;
+
+  /**
+   * Creates an index of {@code items}, where {@code rangeOf} gives the time range of an item.
+   */
+  public TimeRangeIndex(Collection<? extends T> items, Function<? super T, TimeRange> rangeOf) {
+    if (items == null) {
+      throw new IllegalArgumentException("items cannot be null. Use empty array instead.");
+    }
+
+    List<T> sorted = new ArrayList<>(items);
+    sorted.sort(Comparator.comparing(rangeOf, TimeRange.ORDER_BY_START));
+    this.items = sorted;
+    this.starts = new int[sorted.size()];
+    this.ends = new int[sorted.size()];
+    for (int i = 0; i < sorted.size(); ++i) {
+      TimeRange when = rangeOf.apply(sorted.get(i));
+      starts[i] = when.start();
+      ends[i] = when.end();
+    }
+    this.maxEnds = new int[sorted.size()];
+    computeMaxEnds(0, sorted.size());
+  }
+
+  /**
+   * Returns an index of {@code events} by the time they take place.
+   */
+  public static TimeRangeIndex<Event> ofEvents(Collection<Event> events) {
+    return new TimeRangeIndex<>(events, Event::getWhen);
+  }
+
+  private int computeMaxEnds(int low, int high) {
+    if (low >= high) {
+      return Integer.MIN_VALUE;
+    }
+    int middle = (low + high) >>> 1;
+    int maxEnd = Math.max(ends[middle],
+        Math.max(computeMaxEnds(low, middle), computeMaxEnds(middle + 1, high)));
+    maxEnds[middle] = maxEnd;
+    return maxEnd;
+  }
+
+  /**
+   * Returns the items that share at least one minute with {@code window}, sorted by start time.
+   */
+  public List<T> overlapping(TimeRange window) {
+    return overlapping(window.start(), window.end());
+  }
+
+  /**
+   * Returns the items that share at least one minute with [{@code start}, {@code end}), sorted by
+   * start time.
+   */
+  public List<T> overlapping(int start, int end) {
+    List<T> result = new ArrayList<>();
+    if (start < end) {
+      collect(0, items.size(), start, end, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the items taking place during {@code minute}, sorted by start time.
+   */
+  public List<T> containing(int minute) {
+    return overlapping(minute, minute + 1);
+  }
+
+  /**
+   * Returns the number of indexed items.
+   */
+  public int size() {
+    return items.size();
+  }
+
+  /** Adds the items of the subtree [{@code low}, {@code high}) that overlap [start, end). */
+  private void collect(int low, int high, int start, int end, List<T> result) {
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (maxEnds[middle] <= start) {
+        // everything in this subtree ends before the window starts
+        return;
+      }
+      collect(low, middle, start, end, result);
+      if (starts[middle] >= end) {
+        // this item and everything to its right start after the window ends
+        return;
+      }
+      if (ends[middle] > start && starts[middle] < ends[middle]) {
+        result.add(items.get(middle));
+      }
+      // continue with the right subtree without growing the stack
+      low = middle + 1;
+    }
+  }
+}
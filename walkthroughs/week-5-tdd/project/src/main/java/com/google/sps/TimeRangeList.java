@@ -0,0 +1,143 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of packed time ranges, see {@code PackedTimeRange}, backed by a {@code long[]}.
+ * Adding a range does not allocate unless the array has to grow, so a list that is cleared and
+ * reused between queries allocates nothing per range.
+ */
+public final class TimeRangeList {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] ranges;
+  private int size;
+
+  /**
+   * Creates an empty list.
+   */
+  public TimeRangeList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty list with room for {@code capacity} ranges before it has to grow.
+   */
+  public TimeRangeList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity cannot be negative");
+    }
+
+    this.ranges = new long[capacity];
+  }
+
+  /**
+   * Returns the number of ranges in this list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true iff this list holds no range.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Appends the packed range {@code range}.
+   */
+  public void add(long range) {
+    if (size == ranges.length) {
+      ranges = Arrays.copyOf(ranges, Math.max(DEFAULT_CAPACITY, 2 * ranges.length));
+    }
+    ranges[size++] = range;
+  }
+
+  /**
+   * Appends the range from {@code start} to the exclusive {@code end}.
+   */
+  public void add(int start, int end) {
+    add(PackedTimeRange.fromStartEnd(start, end, /* inclusive = */ false));
+  }
+
+  /**
+   * Returns the packed range at {@code index}.
+   */
+  public long get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return ranges[index];
+  }
+
+  /**
+   * Returns the start of the range at {@code index}.
+   */
+  public int start(int index) {
+    return PackedTimeRange.start(get(index));
+  }
+
+  /**
+   * Returns the exclusive end of the range at {@code index}.
+   */
+  public int end(int index) {
+    return PackedTimeRange.end(get(index));
+  }
+
+  /**
+   * Removes every range, keeping the array for the next ones.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Sorts the ranges by start time, and ranges with the same start by duration. Durations must not
+   * be negative.
+   */
+  public void sortByStart() {
+    // the start is in the high bits, so the natural order of the packed values sorts by start first
+    Arrays.sort(ranges, 0, size);
+  }
+
+  /**
+   * Returns the ranges of this list as {@code TimeRange} objects, in the same order.
+   */
+  public List<TimeRange> toTimeRanges() {
+    List<TimeRange> result = new ArrayList<>(size);
+    for (int i = 0; i < size; ++i) {
+      result.add(PackedTimeRange.toTimeRange(ranges[i]));
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; ++i) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(PackedTimeRange.toString(ranges[i]));
+    }
+    return builder.append(']').toString();
+  }
+}
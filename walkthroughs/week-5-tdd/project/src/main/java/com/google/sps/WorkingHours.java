@@ -0,0 +1,156 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hours during which someone is willing to meet, in their own time zone, such as 9:00 to 17:00
+ * in New York from Monday to Friday. An end time at or before the start time is a shift that ends
+ * on the next day. Working hours are considered read-only.
+ */
+public final class WorkingHours {
+  private final ZoneId zone;
+  private final LocalTime start;
+  private final LocalTime end;
+  private final Set<DayOfWeek> days;
+
+  /**
+   * Creates new working hours.
+   *
+   * @param zone The time zone of {@code start} and {@code end}. Must be non-null.
+   * @param start The time at which a working day starts. Must be non-null.
+   * @param end The time at which a working day ends. Must be non-null.
+   * @param days The days of the week on which working days start. Must be non-null.
+   */
+  public WorkingHours(ZoneId zone, LocalTime start, LocalTime end, Collection<DayOfWeek> days) {
+    if (zone == null) {
+      throw new IllegalArgumentException("zone cannot be null");
+    }
+
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("start and end cannot be null");
+    }
+
+    if (days == null) {
+      throw new IllegalArgumentException("days cannot be null. Use empty array instead.");
+    }
+
+    this.zone = zone;
+    this.start = start;
+    this.end = end;
+    this.days = days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(days);
+  }
+
+  /**
+   * Returns working hours from {@code start} to {@code end} in {@code zone}, Monday to Friday.
+   */
+  public static WorkingHours weekdays(ZoneId zone, LocalTime start, LocalTime end) {
+    return new WorkingHours(zone, start, end, EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+  }
+
+  /**
+   * Returns the time zone of these working hours.
+   */
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * Returns the time at which a working day starts.
+   */
+  public LocalTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the time at which a working day ends.
+   */
+  public LocalTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns a read-only set of the days of the week on which working days start.
+   */
+  public Set<DayOfWeek> getDays() {
+    return Collections.unmodifiableSet(days);
+  }
+
+  /**
+   * Returns a mask of the minutes of {@code day} in {@code calendarZone} that fall outside of these
+   * working hours. Minute 0 of the mask is midnight of {@code day} in {@code calendarZone}.
+   */
+  BusyMask compileOffHours(LocalDate day, ZoneId calendarZone) {
+    long dayStart = day.atStartOfDay(calendarZone).toInstant().toEpochMilli();
+    int dayLength = TimeRange.WHOLE_DAY.duration();
+
+    // A working day that starts the day before may run into this day, and one that starts the day
+    // after may begin before this day ends in the calendar's time zone.
+    List<int[]> working = new ArrayList<>();
+    for (LocalDate date = day.minusDays(1); !date.isAfter(day.plusDays(1)); date = date.plusDays(1)) {
+      if (!days.contains(date.getDayOfWeek())) {
+        continue;
+      }
+      Instant from = ZonedDateTime.of(date, start, zone).toInstant();
+      LocalDate endDate = end.isAfter(start) ? date : date.plusDays(1);
+      Instant to = ZonedDateTime.of(endDate, end, zone).toInstant();
+      working.add(new int[] {toMinute(from, dayStart), toMinute(to, dayStart)});
+    }
+    working.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+    BusyMask offHours = new BusyMask(dayLength);
+    int freeFrom = 0;
+    for (int[] range : working) {
+      offHours.markBusy(freeFrom, range[0]);
+      freeFrom = Math.max(freeFrom, range[1]);
+    }
+    offHours.markBusy(freeFrom, dayLength);
+    return offHours;
+  }
+
+  private static int toMinute(Instant instant, long dayStart) {
+    long minutes = Math.floorDiv(instant.toEpochMilli() - dayStart, TimeUnit.MINUTES.toMillis(1));
+    // Clamp so that far away ranges cannot overflow; they are clipped by the mask anyway.
+    return (int) Math.max(-1, Math.min(TimeRange.WHOLE_DAY.duration() + 1, minutes));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(zone, start, end, days);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof WorkingHours)) {
+      return false;
+    }
+    WorkingHours hours = (WorkingHours) other;
+    return zone.equals(hours.zone) && start.equals(hours.start) && end.equals(hours.end)
+        && days.equals(hours.days);
+  }
+}
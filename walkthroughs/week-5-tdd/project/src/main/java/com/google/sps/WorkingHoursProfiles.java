@@ -0,0 +1,103 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The working hours of every attendee, together with the masks they compile to. A mask depends on
+ * the hours, the day and the time zone of the calendar, not on the attendee, so everyone sharing a
+ * profile such as "9:00 to 17:00 in London" shares a single mask per day. Attendees without working
+ * hours are available for the whole day.
+ */
+public final class WorkingHoursProfiles {
+  // Compiled masks are cheap to rebuild, so the cache is simply emptied when it grows this large.
+  private static final int MAX_CACHED_MASKS = 4096;
+
+  private final Map<String, WorkingHours> hoursByAttendee = new ConcurrentHashMap<>();
+  private final Map<MaskKey, BusyMask> masks = new ConcurrentHashMap<>();
+
+  /**
+   * Sets the working hours of {@code attendee}, or removes them if {@code hours} is null.
+   */
+  public void setWorkingHours(String attendee, WorkingHours hours) {
+    if (attendee == null) {
+      throw new IllegalArgumentException("attendee cannot be null");
+    }
+
+    if (hours == null) {
+      hoursByAttendee.remove(attendee);
+    } else {
+      hoursByAttendee.put(attendee, hours);
+    }
+  }
+
+  /**
+   * Returns the working hours of {@code attendee}, or null if they are available all day.
+   */
+  public WorkingHours getWorkingHours(String attendee) {
+    return hoursByAttendee.get(attendee);
+  }
+
+  /**
+   * Returns the minutes of {@code day} in {@code calendarZone} during which {@code attendee} does
+   * not work, or null if they are available all day. The mask is shared and must not be changed.
+   */
+  BusyMask offHours(String attendee, LocalDate day, ZoneId calendarZone) {
+    WorkingHours hours = hoursByAttendee.get(attendee);
+    if (hours == null) {
+      return null;
+    }
+
+    MaskKey key = new MaskKey(hours, day, calendarZone);
+    BusyMask mask = masks.get(key);
+    if (mask == null) {
+      if (masks.size() >= MAX_CACHED_MASKS) {
+        masks.clear();
+      }
+      mask = masks.computeIfAbsent(key, unused -> hours.compileOffHours(day, calendarZone));
+    }
+    return mask;
+  }
+
+  private static final class MaskKey {
+    private final WorkingHours hours;
+    private final LocalDate day;
+    private final ZoneId calendarZone;
+
+    MaskKey(WorkingHours hours, LocalDate day, ZoneId calendarZone) {
+      this.hours = hours;
+      this.day = day;
+      this.calendarZone = calendarZone;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof MaskKey)) {
+        return false;
+      }
+      MaskKey key = (MaskKey) other;
+      return hours.equals(key.hours) && day.equals(key.day) && calendarZone.equals(key.calendarZone);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hours, day, calendarZone);
+    }
+  }
+}
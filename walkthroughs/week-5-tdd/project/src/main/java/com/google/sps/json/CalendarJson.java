@@ -0,0 +1,85 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * The JSON format of the calendar. {@code GSON} reads and writes time ranges, events and meeting
+ * requests with hand-written streaming adapters instead of reflection. A {@code Gson} is
+ * thread-safe, so the servlets share this one instead of creating their own for every request.
+ */
+public final class CalendarJson {
+  private static final TimeRangeAdapter TIME_RANGE_ADAPTER = new TimeRangeAdapter();
+
+  public static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapter(TimeRange.class, TIME_RANGE_ADAPTER.nullSafe())
+      .registerTypeAdapter(Event.class, new EventAdapter(TIME_RANGE_ADAPTER).nullSafe())
+      .registerTypeAdapter(MeetingRequest.class, new MeetingRequestAdapter().nullSafe())
+      .create();
+
+  private CalendarJson() {}
+
+  /**
+   * Writes {@code value} as UTF-8 JSON to {@code out} as it is serialized, without building the
+   * whole text first. Flushes but does not close {@code out}.
+   */
+  public static void write(OutputStream out, Object value) throws IOException {
+    JsonWriter writer = GSON.newJsonWriter(
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    GSON.toJson(value, value == null ? Object.class : value.getClass(), writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes {@code strings} as a JSON array.
+   */
+  static void writeStrings(JsonWriter out, Collection<String> strings) throws IOException {
+    out.beginArray();
+    for (String string : strings) {
+      out.value(string);
+    }
+    out.endArray();
+  }
+
+  /**
+   * Reads a JSON array of strings into {@code strings}. A JSON null is read as an empty array.
+   */
+  static void readStrings(JsonReader in, Collection<String> strings) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return;
+    }
+
+    in.beginArray();
+    while (in.hasNext()) {
+      strings.add(in.nextString());
+    }
+    in.endArray();
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.Event;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes an {@code Event} as {@code {"title": ..., "when": ..., "attendees": [...]}}
+ * without reflection. Events are read through their constructor, so invalid events are rejected.
+ */
+public final class EventAdapter extends TypeAdapter<Event> {
+  private final TimeRangeAdapter timeRangeAdapter;
+
+  /**
+   * Creates an adapter that reads and writes the time of events with {@code timeRangeAdapter}.
+   */
+  public EventAdapter(TimeRangeAdapter timeRangeAdapter) {
+    this.timeRangeAdapter = timeRangeAdapter;
+  }
+
+  @Override
+  public void write(JsonWriter out, Event event) throws IOException {
+    out.beginObject();
+    out.name("title").value(event.getTitle());
+    out.name("when");
+    timeRangeAdapter.write(out, event.getWhen());
+    out.name("attendees");
+    CalendarJson.writeStrings(out, event.getAttendees());
+    out.endObject();
+  }
+
+  @Override
+  public Event read(JsonReader in) throws IOException {
+    String title = null;
+    TimeRange when = null;
+    List<String> attendees = new ArrayList<>();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "title":
+          title = in.nextString();
+          break;
+        case "when":
+          when = timeRangeAdapter.read(in);
+          break;
+        case "attendees":
+          CalendarJson.readStrings(in, attendees);
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+
+    try {
+      return new Event(title, when, attendees);
+    } catch (IllegalArgumentException e) {
+      throw new JsonParseException("Invalid event", e);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.MeetingRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes a {@code MeetingRequest} with the field names of the {@code MeetingRequest}
+ * class in script.js, without reflection. Missing fields take their default values.
+ */
+public final class MeetingRequestAdapter extends TypeAdapter<MeetingRequest> {
+  @Override
+  public void write(JsonWriter out, MeetingRequest request) throws IOException {
+    out.beginObject();
+    out.name("attendees");
+    CalendarJson.writeStrings(out, request.getAttendees());
+    out.name("optional_attendees");
+    CalendarJson.writeStrings(out, request.getOptionalAttendees());
+    out.name("duration").value(request.getDuration());
+    out.name("quorum").value(request.getQuorum());
+    out.name("room_capacity").value(request.getRoomCapacity());
+    out.name("room_equipment");
+    CalendarJson.writeStrings(out, request.getRoomEquipment());
+    out.name("alignment").value(request.getAlignment());
+    out.endObject();
+  }
+
+  @Override
+  public MeetingRequest read(JsonReader in) throws IOException {
+    List<String> attendees = new ArrayList<>();
+    List<String> optionalAttendees = new ArrayList<>();
+    long duration = 0;
+    int quorum = 0;
+    int roomCapacity = 0;
+    List<String> roomEquipment = new ArrayList<>();
+    int alignment = 0;
+    // A field of the wrong type, such as 1.5 or "abc" for a number, is an invalid request too.
+    try {
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "attendees":
+            CalendarJson.readStrings(in, attendees);
+            break;
+          case "optional_attendees":
+            CalendarJson.readStrings(in, optionalAttendees);
+            break;
+          case "duration":
+            duration = in.nextLong();
+            break;
+          case "quorum":
+            quorum = in.nextInt();
+            break;
+          case "room_capacity":
+            roomCapacity = in.nextInt();
+            break;
+          case "room_equipment":
+            CalendarJson.readStrings(in, roomEquipment);
+            break;
+          case "alignment":
+            alignment = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+    } catch (NumberFormatException | IllegalStateException e) {
+      throw new JsonParseException("Invalid meeting request", e);
+    }
+
+    try {
+      MeetingRequest request = new MeetingRequest(attendees, duration, quorum);
+      optionalAttendees.forEach(request::addOptionalAttendee);
+      request.setRoomCapacity(roomCapacity);
+      roomEquipment.forEach(request::addRoomEquipment);
+      request.setAlignment(alignment);
+      return request;
+    } catch (IllegalArgumentException e) {
+      throw new JsonParseException("Invalid meeting request", e);
+    }
+  }
+}
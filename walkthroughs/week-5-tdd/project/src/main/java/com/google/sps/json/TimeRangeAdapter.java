@@ -0,0 +1,68 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+
+/**
+ * Reads and writes a {@code TimeRange} as {@code {"start": ..., "duration": ...}}, in minutes,
+ * without reflection. Only ranges that fit in the day are read.
+ */
+public final class TimeRangeAdapter extends TypeAdapter<TimeRange> {
+  @Override
+  public void write(JsonWriter out, TimeRange range) throws IOException {
+    out.beginObject();
+    out.name("start").value(range.start());
+    out.name("duration").value(range.duration());
+    out.endObject();
+  }
+
+  @Override
+  public TimeRange read(JsonReader in) throws IOException {
+    int start = 0;
+    int duration = 0;
+    try {
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "start":
+            start = in.nextInt();
+            break;
+          case "duration":
+            duration = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+    } catch (NumberFormatException | IllegalStateException e) {
+      throw new JsonParseException("start and duration must be integers", e);
+    }
+
+    if (start < 0 || duration < 0) {
+      throw new JsonParseException("start and duration cannot be negative");
+    }
+    if ((long) start + duration > TimeRange.END_OF_DAY + 1) {
+      throw new JsonParseException("time range cannot go past the end of the day");
+    }
+    return TimeRange.fromStartDuration(start, duration);
+  }
+}
@@ -0,0 +1,62 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import com.google.sps.json.CalendarJson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Answers a JSON array of meeting requests at once. The response is a JSON array holding the
+ * possible meeting times of every request, in the order of the requests.
+ */
+@WebServlet("/batch-query")
+public class BatchQueryServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Convert the JSON to a list of MeetingRequest instances.
+    MeetingRequest[] meetingRequests;
+    try {
+      meetingRequests = CalendarJson.GSON.fromJson(request.getReader(), MeetingRequest[].class);
+    } catch (JsonParseException e) {
+      meetingRequests = null;
+    }
+    if (meetingRequests == null || Arrays.asList(meetingRequests).contains(null)) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an array of meeting requests.");
+      return;
+    }
+
+    // Find the possible meeting times of every request against the same events.
+    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+    List<Collection<TimeRange>> answers =
+        findMeetingQuery.queryAll(QueryServlet.EVENT_STORE.snapshot().getIndex(),
+            Arrays.asList(meetingRequests));
+
+    // Stream the JSON back as the response
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    CalendarJson.write(response.getOutputStream(), answers);
+  }
+}
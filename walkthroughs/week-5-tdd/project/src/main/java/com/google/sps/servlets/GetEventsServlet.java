@@ -14,23 +14,48 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
-import com.google.gson.Gson;
+import com.google.sps.Event;
+import com.google.sps.EventStore;
+import com.google.sps.TimeRange;
+import com.google.sps.json.CalendarJson;
 import java.io.IOException;
+import java.util.Collection;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+/**
+ * Lists the events of the calendar. With {@code start} and/or {@code end} parameters, in minutes
+ * since the start of the day, only lists the events that overlap [start, end).
+ */
 @WebServlet("/get-events")
 public class GetEventsServlet extends HttpServlet {
   @Override
   public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-    String jsonResponse = gson.toJson(Events.events);
+    String startParameter = request.getParameter("start");
+    String endParameter = request.getParameter("end");
+    EventStore.Snapshot snapshot = QueryServlet.EVENT_STORE.snapshot();
 
-    // Send the JSON back as the response
+    Collection<Event> events;
+    if (startParameter == null && endParameter == null) {
+      events = snapshot.getEvents();
+    } else {
+      int start;
+      int end;
+      try {
+        start = startParameter == null ? TimeRange.START_OF_DAY : Integer.parseInt(startParameter);
+        end = endParameter == null ? TimeRange.WHOLE_DAY.end() : Integer.parseInt(endParameter);
+      } catch (NumberFormatException e) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected start and end minutes.");
+        return;
+      }
+      events = snapshot.getTimeIndex().overlapping(start, end);
+    }
+
+    // Stream the JSON back as the response
     response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    response.setCharacterEncoding("UTF-8");
+    CalendarJson.write(response.getOutputStream(), events);
   }
 }
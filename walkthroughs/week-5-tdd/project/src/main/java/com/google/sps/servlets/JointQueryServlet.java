@@ -0,0 +1,65 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import com.google.sps.json.CalendarJson;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Places a JSON array of meetings on the day at once, so that no two meetings that share an
+ * attendee overlap. The response is a JSON array holding the time of every meeting, in the order of
+ * the requests, or an empty array if the meetings cannot all be placed.
+ */
+@WebServlet("/joint-query")
+public class JointQueryServlet extends HttpServlet {
+  // How long the search for a placement may take before the servlet gives up.
+  private static final long TIMEOUT_MILLIS = 2000;
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Convert the JSON to a list of MeetingRequest instances.
+    MeetingRequest[] meetingRequests;
+    try {
+      meetingRequests = CalendarJson.GSON.fromJson(request.getReader(), MeetingRequest[].class);
+    } catch (JsonParseException e) {
+      meetingRequests = null;
+    }
+    if (meetingRequests == null || Arrays.asList(meetingRequests).contains(null)) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an array of meeting requests.");
+      return;
+    }
+
+    // Place all meetings against the same events.
+    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+    List<TimeRange> answer = findMeetingQuery.queryJointSchedule(
+        QueryServlet.EVENT_STORE.snapshot().getIndex(), Arrays.asList(meetingRequests),
+        TIMEOUT_MILLIS);
+
+    // Stream the JSON back as the response
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    CalendarJson.write(response.getOutputStream(), answer);
+  }
+}
@@ -0,0 +1,56 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.Event;
+import com.google.sps.json.CalendarJson;
+import java.io.IOException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** Servlet responsible for adding events to the calendar. Responds with the id of the new event. */
+@WebServlet("/new-event")
+public class NewEventServlet extends HttpServlet {
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Event event = readEvent(request);
+    if (event == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an event.");
+      return;
+    }
+
+    long id = QueryServlet.EVENT_STORE.add(event);
+
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    CalendarJson.write(response.getOutputStream(), id);
+  }
+
+  /**
+   * Reads the JSON event in the body of {@code request}, or returns null if it is not a valid event.
+   */
+  static Event readEvent(HttpServletRequest request) throws IOException {
+    try {
+      // The event adapter builds events through their constructor, which checks the arguments.
+      return CalendarJson.GSON.fromJson(request.getReader(), Event.class);
+    } catch (JsonParseException e) {
+      return null;
+    }
+  }
+}
@@ -14,40 +14,190 @@
 
 package com.google.sps.servlets;
 
+import com.google.sps.EventStore;
 import com.google.sps.Events;
 import com.google.sps.FindMeetingQuery;
 import com.google.sps.MeetingRequest;
+import com.google.sps.QueryCache;
+import com.google.sps.QueryExecutor;
 import com.google.sps.TimeRange;
-import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.sps.json.CalendarJson;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletResponse;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-@WebServlet("/query")
+/**
+ * Finds the times at which a meeting can take place. Queries run asynchronously on
+ * {@code QUERY_EXECUTOR} instead of on the threads of the servlet container, so that slow queries
+ * do not hold up the rest of the server. When the queue of the executor is full, or a query waits
+ * longer than the timeout, the servlet answers 503 with a Retry-After header. A query that throws
+ * is logged and answered with 500.
+ *
+ * <p>The number of query threads, the queue capacity and the timeout in milliseconds are read from
+ * the {@code sps.query.threads}, {@code sps.query.queueCapacity} and {@code sps.query.timeoutMillis}
+ * system properties.
+ */
+@WebServlet(urlPatterns = "/query", asyncSupported = true)
 public class QueryServlet extends HttpServlet {
+  // The calendar shared by all servlets, starting out with the events in Events.events.
+  static final EventStore EVENT_STORE = new EventStore(Arrays.asList(Events.events));
+
+  static final QueryCache QUERY_CACHE = new QueryCache(/* maxEntries = */ 1000);
+
+  static final QueryExecutor QUERY_EXECUTOR = new QueryExecutor(
+      Integer.getInteger("sps.query.threads", Runtime.getRuntime().availableProcessors()),
+      Integer.getInteger("sps.query.queueCapacity", 100));
+
+  private static final long TIMEOUT_MILLIS = Long.getLong("sps.query.timeoutMillis", 10_000);
+
+  // How long a client is asked to wait before trying again when the server is saturated.
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private static final Logger logger = Logger.getLogger(QueryServlet.class.getName());
+
+  private final transient QueryExecutor executor;
+  private final long timeoutMillis;
+
+  public QueryServlet() {
+    this(QUERY_EXECUTOR, TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Creates a servlet that runs its queries on {@code executor} and gives up on them after
+   * {@code timeoutMillis}.
+   */
+  QueryServlet(QueryExecutor executor, long timeoutMillis) {
+    this.executor = executor;
+    this.timeoutMillis = timeoutMillis;
+  }
+
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-
     // Convert the JSON to an instance of MeetingRequest.
-    MeetingRequest meetingRequest = gson.fromJson(request.getReader(), MeetingRequest.class);
+    MeetingRequest meetingRequest = readMeetingRequest(request);
+    if (meetingRequest == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a meeting request.");
+      return;
+    }
 
+    AsyncContext asyncContext = request.startAsync();
+    asyncContext.setTimeout(timeoutMillis);
+    // Set by whichever of the query, the timeout and an error finishes the response first.
+    AtomicBoolean finished = new AtomicBoolean();
+    asyncContext.addListener(new AsyncListener() {
+      @Override
+      public void onTimeout(AsyncEvent event) throws IOException {
+        if (finished.compareAndSet(false, true)) {
+          sendUnavailable(asyncContext);
+        }
+      }
+
+      @Override
+      public void onComplete(AsyncEvent event) {}
+
+      @Override
+      public void onError(AsyncEvent event) {
+        // the container can no longer send a response, but the request still has to end
+        if (finished.compareAndSet(false, true)) {
+          asyncContext.complete();
+        }
+      }
+
+      @Override
+      public void onStartAsync(AsyncEvent event) {}
+    });
+
+    boolean accepted = executor.submit(() -> {
+      if (finished.get()) {
+        // the query timed out or failed while it was queued
+        return;
+      }
+      Collection<TimeRange> answer;
+      try {
+        answer = query(meetingRequest);
+      } catch (RuntimeException e) {
+        logger.log(Level.SEVERE, "Query failed", e);
+        if (finished.compareAndSet(false, true)) {
+          sendError(asyncContext, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+        return;
+      }
+      if (finished.compareAndSet(false, true)) {
+        sendAnswer(asyncContext, answer);
+      }
+    });
+    if (!accepted && finished.compareAndSet(false, true)) {
+      sendUnavailable(asyncContext);
+    }
+  }
+
+  /**
+   * Returns the times at which {@code meetingRequest} can take place, with its own optional
+   * attendees, on the current events.
+   */
+  Collection<TimeRange> query(MeetingRequest meetingRequest) {
     // Find the possible meeting times.
     FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
-    Collection<String> optionalAttendees = new ArrayList();
-    Collection<TimeRange> answer =
-        findMeetingQuery.query(Arrays.asList(Events.events), meetingRequest, optionalAttendees);
+    Collection<String> optionalAttendees = meetingRequest.getOptionalAttendees();
+    // Read a single snapshot so that the answer and its cache entry belong to the same version.
+    EventStore.Snapshot snapshot = EVENT_STORE.snapshot();
+    return QUERY_CACHE.get(meetingRequest, optionalAttendees, snapshot.getVersion(),
+        () -> meetingRequest.getQuorum() > 0
+            ? findMeetingQuery.queryWithQuorum(snapshot.getIndex(), meetingRequest)
+            : findMeetingQuery.query(snapshot.getIndex(), meetingRequest, optionalAttendees));
+  }
+
+  private static void sendAnswer(AsyncContext asyncContext, Collection<TimeRange> answer) {
+    try {
+      // Stream the JSON back as the response
+      ServletResponse response = asyncContext.getResponse();
+      response.setContentType("application/json");
+      response.setCharacterEncoding("UTF-8");
+      CalendarJson.write(response.getOutputStream(), answer);
+    } catch (IOException e) {
+      // the client went away; there is no one left to tell
+    } finally {
+      asyncContext.complete();
+    }
+  }
 
-    // Convert the times to JSON
-    String jsonResponse = gson.toJson(answer);
+  private static void sendUnavailable(AsyncContext asyncContext) {
+    ((HttpServletResponse) asyncContext.getResponse())
+        .setHeader("Retry-After", RETRY_AFTER_SECONDS);
+    sendError(asyncContext, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+  }
+
+  private static void sendError(AsyncContext asyncContext, int status) {
+    try {
+      ((HttpServletResponse) asyncContext.getResponse()).sendError(status);
+    } catch (IOException e) {
+      // the client went away; there is no one left to tell
+    } finally {
+      asyncContext.complete();
+    }
+  }
 
-    // Send the JSON back as the response
-    response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+  /**
+   * Reads the JSON meeting request in the body of {@code request}, or returns null if it is not a
+   * valid meeting request.
+   */
+  static MeetingRequest readMeetingRequest(HttpServletRequest request) throws IOException {
+    try {
+      return CalendarJson.GSON.fromJson(request.getReader(), MeetingRequest.class);
+    } catch (JsonParseException e) {
+      return null;
+    }
   }
 }
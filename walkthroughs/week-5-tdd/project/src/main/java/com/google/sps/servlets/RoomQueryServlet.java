@@ -0,0 +1,58 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps.servlets;
+
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.ResourceIndex;
+import com.google.sps.Resources;
+import com.google.sps.RoomSlot;
+import com.google.sps.json.CalendarJson;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Finds the times and rooms in which a meeting can take place, for every room that fits the
+ * request, in a single query. Rooms are booked with events that list the room as an attendee.
+ */
+@WebServlet("/room-query")
+public class RoomQueryServlet extends HttpServlet {
+  // The rooms that can be booked, starting out with the ones in Resources.resources.
+  static final ResourceIndex ROOMS = new ResourceIndex(Arrays.asList(Resources.resources));
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // Convert the JSON to an instance of MeetingRequest.
+    MeetingRequest meetingRequest = QueryServlet.readMeetingRequest(request);
+    if (meetingRequest == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a meeting request.");
+      return;
+    }
+
+    // Find the possible meeting times and rooms.
+    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+    List<RoomSlot> answer = findMeetingQuery.queryWithRooms(
+        QueryServlet.EVENT_STORE.snapshot().getIndex(), ROOMS, meetingRequest);
+
+    // Stream the JSON back as the response
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    CalendarJson.write(response.getOutputStream(), answer);
+  }
+}
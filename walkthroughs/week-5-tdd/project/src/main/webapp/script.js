@@ -92,10 +92,20 @@ function timeToString(totalMinutes) {
  * Request for possible meeting times.
  */
 class MeetingRequest {
-  constructor(duration, attendees, optional_attendees) {
+  constructor(duration, attendees, optional_attendees, quorum = 0,
+      room_capacity = 0, room_equipment = [], alignment = 0) {
     this.duration = duration;
     this.attendees = attendees;
     this.optional_attendees = optional_attendees;
+    // How many attendees must be free, or 0 if all of them must be.
+    this.quorum = quorum;
+    // The smallest room and the equipment it needs, used by /room-query. A
+    // room_capacity of 0 means a room for all of the attendees.
+    this.room_capacity = room_capacity;
+    this.room_equipment = room_equipment;
+    // The minutes meetings start on, such as 15 for quarter hours, or 0 for
+    // any minute.
+    this.alignment = alignment;
   }
 }
 
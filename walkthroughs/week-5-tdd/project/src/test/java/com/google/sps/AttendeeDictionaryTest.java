@@ -0,0 +1,101 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.sps.json.CalendarJson;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeDictionaryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final TimeRange WHEN = TimeRange.fromStartDuration(0, 30);
+
+  @Test
+  public void internGivesStableIds() {
+    AttendeeDictionary dictionary = new AttendeeDictionary();
+
+    int a = dictionary.intern(PERSON_A);
+    int b = dictionary.intern(PERSON_B);
+
+    Assert.assertEquals(0, a);
+    Assert.assertEquals(1, b);
+    Assert.assertEquals(a, dictionary.intern(PERSON_A));
+    Assert.assertEquals(PERSON_B, dictionary.nameOf(b));
+    Assert.assertEquals(-1, dictionary.idOf(PERSON_C));
+    Assert.assertEquals(2, dictionary.size());
+  }
+
+  @Test
+  public void lookupSkipsUnknownNames() {
+    AttendeeDictionary dictionary = new AttendeeDictionary();
+    dictionary.intern(PERSON_A);
+    dictionary.intern(PERSON_B);
+
+    int[] ids = dictionary.lookupAll(Arrays.asList(PERSON_C, PERSON_B, PERSON_A, PERSON_B));
+
+    Assert.assertArrayEquals(new int[] {0, 1}, ids);
+  }
+
+  @Test
+  public void intersects() {
+    Assert.assertTrue(AttendeeDictionary.intersects(new int[] {1, 4, 9}, new int[] {2, 9}));
+    Assert.assertFalse(AttendeeDictionary.intersects(new int[] {1, 4, 9}, new int[] {2, 3, 10}));
+    Assert.assertFalse(AttendeeDictionary.intersects(new int[] {}, new int[] {1}));
+
+    // Large enough for the binary search path.
+    int[] evens = new int[100];
+    for (int i = 0; i < evens.length; ++i) {
+      evens[i] = 2 * i;
+    }
+    Assert.assertTrue(AttendeeDictionary.intersects(new int[] {7, 42}, evens));
+    Assert.assertFalse(AttendeeDictionary.intersects(evens, new int[] {7, 43}));
+  }
+
+  @Test
+  public void eventAttendeesBehaveLikeASet() {
+    Event event = new Event("Event", WHEN, Arrays.asList(PERSON_B, PERSON_A, PERSON_A));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(PERSON_A, PERSON_B)), event.getAttendees());
+    Assert.assertEquals(event.getAttendees(), new HashSet<>(Arrays.asList(PERSON_A, PERSON_B)));
+    Assert.assertTrue(event.getAttendees().contains(PERSON_A));
+    Assert.assertFalse(event.getAttendees().contains("Nobody at all"));
+    Assert.assertTrue(event.containsRequestedAttendees(Arrays.asList(PERSON_C, PERSON_B)));
+    Assert.assertFalse(event.containsRequestedAttendees(Arrays.asList(PERSON_C)));
+    Assert.assertFalse(event.containsRequestedAttendees(Collections.emptyList()));
+  }
+
+  @Test
+  public void eventJsonKeepsAttendeeNames() {
+    Gson gson = CalendarJson.GSON;
+    Event event = new Event("Event", WHEN, Arrays.asList(PERSON_A));
+
+    String json = gson.toJson(event);
+    Event parsed = gson.fromJson(json, Event.class);
+
+    Assert.assertTrue(json.contains("\"attendees\":[\"" + PERSON_A + "\"]"));
+    Assert.assertEquals(event, parsed);
+    Assert.assertTrue(parsed.containsRequestedAttendees(Arrays.asList(PERSON_A)));
+  }
+}
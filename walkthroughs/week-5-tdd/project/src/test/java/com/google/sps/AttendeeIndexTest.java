@@ -0,0 +1,79 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeIndexTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final Collection<Event> EVENTS = Arrays.asList(
+      new Event("Event 1", TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A, PERSON_B)),
+      new Event("Event 2", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_A)),
+      new Event("Event 3", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+          Arrays.asList(PERSON_B)));
+
+  @Test
+  public void busyRangesAreSortedByStart() {
+    AttendeeIndex index = new AttendeeIndex(EVENTS);
+
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES)),
+        index.getBusyRanges(PERSON_A));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES)),
+        index.getBusyRanges(PERSON_B));
+  }
+
+  @Test
+  public void unknownAttendeeIsNeverBusy() {
+    AttendeeIndex index = new AttendeeIndex(EVENTS);
+
+    Assert.assertEquals(Collections.emptyList(), index.getBusyRanges(PERSON_C));
+  }
+
+  @Test
+  public void queryMatchesEventScan() {
+    AttendeeIndex index = new AttendeeIndex(EVENTS);
+    FindMeetingQuery query = new FindMeetingQuery();
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    for (Collection<String> optionalAttendees :
+        Arrays.<Collection<String>>asList(Collections.emptyList(), Arrays.asList(PERSON_B))) {
+      Assert.assertEquals(query.query(EVENTS, request, optionalAttendees),
+          query.query(index, request, optionalAttendees));
+    }
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BinaryCalendarTest {
+  private static final List<String> PEOPLE =
+      Arrays.asList("Person A", "Person B", "Zoë", "Åsa", "Person C");
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void readsWhatWasWritten() throws IOException {
+    List<Event> events = Arrays.asList(
+        new Event("Late", TimeRange.fromStartDuration(600, 30), Arrays.asList("Zoë", "Person A")),
+        new Event("Early", TimeRange.fromStartDuration(60, 30), Arrays.asList("Person A")));
+    BinaryCalendar calendar = writeAndOpen(events);
+
+    Assert.assertEquals(2, calendar.getEventCount());
+    Assert.assertEquals(2, calendar.getAttendeeCount());
+    Assert.assertEquals("Early", calendar.getEventTitle(0));
+    Assert.assertEquals(TimeRange.fromStartDuration(600, 30), calendar.getEventTime(1));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(60, 30), TimeRange.fromStartDuration(600, 30)),
+        calendar.getBusyRanges("Person A"));
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(600, 30)),
+        calendar.getBusyRanges("Zoë"));
+    Assert.assertEquals(Collections.emptyList(), calendar.getBusyRanges("Nobody"));
+  }
+
+  @Test
+  public void matchesAttendeeIndex() throws IOException {
+    Random random = new Random(/* seed = */ 18);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 500; ++i) {
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(90)),
+          Arrays.asList(PEOPLE.get(random.nextInt(PEOPLE.size())),
+              PEOPLE.get(random.nextInt(PEOPLE.size())))));
+    }
+    BinaryCalendar calendar = writeAndOpen(events);
+    AttendeeIndex index = new AttendeeIndex(events);
+
+    FindMeetingQuery query = new FindMeetingQuery();
+    for (String person : PEOPLE) {
+      List<TimeRange> expected = new ArrayList<>(index.getBusyRanges(person));
+      List<TimeRange> actual = new ArrayList<>(calendar.getBusyRanges(person));
+      expected.sort(TimeRange.ORDER_BY_START);
+      Assert.assertEquals(expected.size(), actual.size());
+      Assert.assertTrue(actual.containsAll(expected));
+
+      MeetingRequest request = new MeetingRequest(Arrays.asList(person), 15);
+      Assert.assertEquals(query.query(index, request, Arrays.asList("Person C")),
+          query.query(calendar, request, Arrays.asList("Person C")));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsOtherFiles() throws IOException {
+    Path file = folder.newFile().toPath();
+    Files.write(file, "[{\"title\": \"Not binary\"}]".getBytes("UTF-8"));
+
+    BinaryCalendar.open(file);
+  }
+
+  private BinaryCalendar writeAndOpen(List<Event> events) throws IOException {
+    Path file = folder.newFile().toPath();
+    BinaryCalendar.write(events, file);
+    return BinaryCalendar.open(file);
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BitsetEngineTest {
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private final AvailabilityEngine bitset = new BitsetEngine();
+  private final AvailabilityEngine prefixSum = new PrefixSumEngine();
+
+  @Test
+  public void busyRangesAcrossWordBoundaries() {
+    // 60 to 70 and 120 to 130 both cross a 64 bit word boundary.
+    Collection<TimeRange> busy =
+        Arrays.asList(TimeRange.fromStartEnd(60, 70, false), TimeRange.fromStartEnd(120, 130, false));
+
+    Collection<TimeRange> actual = bitset.findAvailableTimeRanges(busy, 1);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 60, false),
+        TimeRange.fromStartEnd(70, 120, false),
+        TimeRange.fromStartEnd(130, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void busyRangePastEndOfDay() {
+    Collection<TimeRange> busy =
+        Arrays.asList(TimeRange.fromStartDuration(TIME_0900AM, TimeRange.WHOLE_DAY.duration()));
+
+    Collection<TimeRange> actual = bitset.findAvailableTimeRanges(busy, 60);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void matchesPrefixSumEngine() {
+    Random random = new Random(/* seed = */ 42);
+    for (int test = 0; test < 500; ++test) {
+      List<TimeRange> busy = new ArrayList<>();
+      int numberOfRanges = random.nextInt(20);
+      for (int i = 0; i < numberOfRanges; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        busy.add(TimeRange.fromStartDuration(start, random.nextInt(180)));
+      }
+      int duration = random.nextInt(TIME_1000AM);
+
+      Assert.assertEquals(prefixSum.findAvailableTimeRanges(busy, duration),
+          bitset.findAvailableTimeRanges(busy, duration));
+    }
+  }
+
+  @Test
+  public void findMeetingQueryWithBitsetEngine() {
+    Collection<Event> events = Arrays.asList(new Event("Event 1",
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList("Person A")));
+    MeetingRequest request = new MeetingRequest(Arrays.asList("Person A"), 30);
+
+    Collection<TimeRange> actual =
+        new FindMeetingQuery(bitset).query(events, request, Arrays.asList("Person B"));
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+}
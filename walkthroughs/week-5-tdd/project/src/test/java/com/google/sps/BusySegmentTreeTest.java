@@ -0,0 +1,117 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BusySegmentTreeTest {
+  @Test
+  public void matchesCountingEverySlot() {
+    Random random = new Random(/* seed = */ 20);
+    for (int size : new int[] {1, 7, 64, 1440}) {
+      BusySegmentTree tree = new BusySegmentTree(size);
+      int[] counts = new int[size];
+      for (int step = 0; step < 2000; ++step) {
+        int start = random.nextInt(size);
+        int end = start + 1 + random.nextInt(Math.min(size - start, 90));
+        int delta = random.nextInt(3) == 0 ? -1 : 1;
+        if (delta < 0 && !positive(counts, start, end)) {
+          delta = 1;
+        }
+        tree.add(start, end, delta);
+        for (int slot = start; slot < end; ++slot) {
+          counts[slot] += delta;
+        }
+
+        int from = random.nextInt(size);
+        int duration = 1 + random.nextInt(60);
+        Assert.assertEquals(nextBusy(counts, from), tree.nextBusy(from));
+        Assert.assertEquals(nextFree(counts, from), tree.nextFree(from));
+        Assert.assertEquals(nextFreeWindow(counts, from, duration),
+            tree.nextFreeWindow(from, duration));
+        Assert.assertEquals(counts[from], tree.count(from));
+      }
+    }
+  }
+
+  @Test
+  public void rejectsRemovingMoreThanWasAdded() {
+    BusySegmentTree tree = new BusySegmentTree(100);
+    tree.add(10, 20, 1);
+
+    try {
+      tree.add(15, 25, -1);
+      Assert.fail();
+    } catch (IllegalArgumentException expected) {
+      // the tree is left as it was
+    }
+
+    Assert.assertEquals(1, tree.count(15));
+    Assert.assertEquals(0, tree.count(22));
+    Assert.assertEquals(20, tree.nextFreeWindow(10, 5));
+  }
+
+  @Test
+  public void ignoresPartsOutsideOfTheTree() {
+    BusySegmentTree tree = new BusySegmentTree(100);
+    tree.add(-10, 10, 1);
+    tree.add(95, 200, 1);
+
+    Assert.assertEquals(10, tree.nextFree(0));
+    Assert.assertEquals(95, tree.nextBusy(10));
+    Assert.assertEquals(-1, tree.nextFreeWindow(11, 85));
+    Assert.assertEquals(10, tree.nextFreeWindow(0, 85));
+  }
+
+  private static boolean positive(int[] counts, int start, int end) {
+    for (int slot = start; slot < end; ++slot) {
+      if (counts[slot] == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int nextBusy(int[] counts, int from) {
+    while (from < counts.length && counts[from] == 0) {
+      ++from;
+    }
+    return from;
+  }
+
+  private static int nextFree(int[] counts, int from) {
+    while (from < counts.length && counts[from] != 0) {
+      ++from;
+    }
+    return from;
+  }
+
+  private static int nextFreeWindow(int[] counts, int from, int duration) {
+    int run = 0;
+    for (int slot = from; slot < counts.length; ++slot) {
+      run = counts[slot] == 0 ? run + 1 : 0;
+      if (run == duration) {
+        return slot - duration + 1;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,79 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class DynamicCalendarTest {
+  private static final Collection<String> GROUP = Arrays.asList("Person A", "Person B");
+
+  @Test
+  public void matchesQueryAfterEveryChange() {
+    Random random = new Random(/* seed = */ 30);
+    FindMeetingQuery query = new FindMeetingQuery();
+    DynamicCalendar calendar = new DynamicCalendar(GROUP);
+    List<Event> events = new ArrayList<>();
+    for (int step = 0; step < 500; ++step) {
+      if (!events.isEmpty() && random.nextInt(3) == 0) {
+        calendar.remove(events.remove(random.nextInt(events.size())));
+      } else {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        int duration = random.nextInt(Math.min(120, TimeRange.WHOLE_DAY.duration() - start) + 1);
+        Event event = new Event("Event " + step, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList("Person " + (char) ('A' + random.nextInt(4))));
+        events.add(event);
+        calendar.add(event);
+      }
+
+      long duration = random.nextInt(100);
+      Assert.assertEquals(
+          query.queryWithoutOptionalAttendees(events, new MeetingRequest(GROUP, duration)),
+          calendar.getAvailableTimeRanges(duration));
+    }
+  }
+
+  @Test
+  public void nextAvailableSkipsShortGaps() {
+    DynamicCalendar calendar = new DynamicCalendar(GROUP, Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(0, 60, false), Arrays.asList("Person A")),
+        new Event("Event 2", TimeRange.fromStartEnd(75, 120, false), Arrays.asList("Person B")),
+        new Event("Event 3", TimeRange.fromStartEnd(0, 600, false), Arrays.asList("Person C"))));
+
+    Assert.assertEquals(TimeRange.fromStartDuration(60, 15), calendar.nextAvailable(0, 15));
+    Assert.assertEquals(TimeRange.fromStartDuration(120, 30), calendar.nextAvailable(0, 30));
+    Assert.assertEquals(TimeRange.fromStartDuration(130, 30), calendar.nextAvailable(130, 30));
+    Assert.assertNull(calendar.nextAvailable(0, TimeRange.WHOLE_DAY.duration()));
+  }
+
+  @Test
+  public void ignoresEventsOfOtherPeople() {
+    DynamicCalendar calendar = new DynamicCalendar(GROUP);
+    Event event =
+        new Event("Event", TimeRange.fromStartEnd(0, 60, false), Arrays.asList("Person C"));
+
+    Assert.assertFalse(calendar.add(event));
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), calendar.getAvailableTimeRanges(60));
+  }
+}
@@ -0,0 +1,122 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventStoreTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final Event EVENT_1 = new Event("Event 1",
+      TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 = new Event("Event 2",
+      TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES), Arrays.asList(PERSON_B));
+
+  @Test
+  public void initialEventsGetSequentialIds() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1, EVENT_2));
+
+    Assert.assertEquals(EVENT_1, store.snapshot().getEventsById().get(1L));
+    Assert.assertEquals(EVENT_2, store.snapshot().getEventsById().get(2L));
+    Assert.assertEquals(0, store.snapshot().getVersion());
+    Assert.assertEquals(3, store.add(EVENT_1));
+  }
+
+  @Test
+  public void writesPublishNewVersions() {
+    EventStore store = new EventStore();
+
+    long id = store.add(EVENT_1);
+    Assert.assertEquals(1, store.snapshot().getVersion());
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES)),
+        store.snapshot().getIndex().getBusyRanges(PERSON_A));
+
+    Assert.assertTrue(store.update(id, EVENT_2));
+    Assert.assertEquals(2, store.snapshot().getVersion());
+    Assert.assertEquals(Collections.emptyList(), store.snapshot().getIndex().getBusyRanges(PERSON_A));
+    Assert.assertEquals(Arrays.asList(EVENT_2), new ArrayList<>(store.snapshot().getEvents()));
+
+    Assert.assertTrue(store.delete(id));
+    Assert.assertEquals(3, store.snapshot().getVersion());
+    Assert.assertTrue(store.snapshot().getEvents().isEmpty());
+  }
+
+  @Test
+  public void unknownIdsAreNotWritten() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1));
+
+    Assert.assertFalse(store.update(42, EVENT_2));
+    Assert.assertFalse(store.delete(42));
+    Assert.assertEquals(0, store.snapshot().getVersion());
+  }
+
+  @Test
+  public void snapshotsDoNotChange() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1));
+    EventStore.Snapshot before = store.snapshot();
+
+    store.add(EVENT_2);
+    store.delete(1);
+
+    Assert.assertEquals(Arrays.asList(EVENT_1), new ArrayList<>(before.getEvents()));
+    Assert.assertEquals(0, before.getVersion());
+  }
+
+  @Test
+  public void readersNeverSeeTornState() throws InterruptedException {
+    // Every write replaces both events at once, so a reader must always see both of them with the
+    // same title.
+    EventStore store = new EventStore(Arrays.asList(EVENT_1, EVENT_1));
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<String> failure = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      while (!done.get()) {
+        EventStore.Snapshot snapshot = store.snapshot();
+        Event first = snapshot.getEventsById().get(1L);
+        Event second = snapshot.getEventsById().get(2L);
+        if (snapshot.getVersion() % 2 == 0 && !first.equals(second)) {
+          failure.set("Torn read at version " + snapshot.getVersion());
+        }
+      }
+    });
+    reader.start();
+    for (int i = 0; i < 1000; ++i) {
+      Event event = i % 2 == 0 ? EVENT_2 : EVENT_1;
+      store.update(1, event);
+      store.update(2, event);
+    }
+    done.set(true);
+    reader.join();
+
+    Assert.assertNull(failure.get());
+  }
+}
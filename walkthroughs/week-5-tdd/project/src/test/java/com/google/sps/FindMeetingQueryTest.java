@@ -14,10 +14,14 @@
 
 package com.google.sps;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -493,4 +497,620 @@ public final class FindMeetingQueryTest {
 
     Assert.assertEquals(expected, actual);
   }
+
+  @Test
+  public void maximizeOptionalAttendees() {
+    // Optional attendees A and B are never free at the same time, so the best meetings have two of
+    // the three optional attendees. C's event rules out the start of the day for those meetings.
+    //
+    // Events  : |----------A----------|
+    //                                  |----------B----------|
+    //                 |-C-|
+    // Day     : |---------------------------------------------|
+    // Options : |--1--|   |----2----| |----------3-----------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1100AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_C)));
+    MeetingRequest request = new MeetingRequest(NO_ATTENDEES, DURATION_1_HOUR);
+
+    Collection<TimeRange> actual = query.queryMaximizingOptionalAttendees(
+        events, request, Arrays.asList(PERSON_A, PERSON_B, PERSON_C));
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendeesWithBusyMandatoryAttendee() {
+    // The mandatory attendee is busy all day, so no number of optional attendees helps.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual =
+        query.queryMaximizingOptionalAttendees(events, request, Arrays.asList(PERSON_B));
+
+    Assert.assertEquals(Arrays.asList(), actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendeesMatchesBruteForce() {
+    // Compare against counting the free optional attendees of every possible start time.
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C, "Person D", "Person E");
+    Random random = new Random(/* seed = */ 3);
+    for (int test = 0; test < 200; ++test) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 12; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(240)),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+      int duration = 1 + random.nextInt(120);
+      MeetingRequest request = new MeetingRequest(people.subList(0, 1), duration);
+      List<String> optionalAttendees = people.subList(1, people.size());
+
+      int[] freeOptional = new int[TimeRange.WHOLE_DAY.duration() - duration + 1];
+      int best = -1;
+      for (int start = 0; start < freeOptional.length; ++start) {
+        TimeRange meeting = TimeRange.fromStartDuration(start, duration);
+        Set<String> busy = new HashSet<>();
+        for (Event event : events) {
+          if (event.getWhen().overlaps(meeting)) {
+            busy.addAll(event.getAttendees());
+          }
+        }
+        freeOptional[start] = busy.contains(PERSON_A) ? -1 : 0;
+        for (String person : optionalAttendees) {
+          if (freeOptional[start] >= 0 && !busy.contains(person)) {
+            ++freeOptional[start];
+          }
+        }
+        best = Math.max(best, freeOptional[start]);
+      }
+
+      Collection<TimeRange> actual =
+          query.queryMaximizingOptionalAttendees(events, request, optionalAttendees);
+      for (int start = 0; start < freeOptional.length; ++start) {
+        boolean returned = false;
+        for (TimeRange range : actual) {
+          returned |= range.contains(TimeRange.fromStartDuration(start, duration));
+        }
+        Assert.assertEquals(best >= 0 && freeOptional[start] == best, returned);
+      }
+    }
+  }
+
+  @Test
+  public void queryAllKeepsRequestOrder() {
+    // Every answer of a batch must be the same as the answer to the request on its own.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_B, PERSON_C)));
+
+    MeetingRequest withOptional = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    withOptional.addOptionalAttendee(PERSON_C);
+    List<MeetingRequest> requests = Arrays.asList(
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES),
+        new MeetingRequest(NO_ATTENDEES, DURATION_2_HOUR),
+        withOptional,
+        new MeetingRequest(Arrays.asList(PERSON_C), TimeRange.WHOLE_DAY.duration() + 1));
+
+    List<Collection<TimeRange>> actual = query.queryAll(events, requests);
+
+    Assert.assertEquals(requests.size(), actual.size());
+    for (int i = 0; i < requests.size(); ++i) {
+      MeetingRequest request = requests.get(i);
+      Assert.assertEquals(
+          query.query(events, request, request.getOptionalAttendees()), actual.get(i));
+    }
+  }
+
+  @Test
+  public void singlePassQueryMatchesTwoQueries() {
+    // query must answer like asking for everyone first and for the mandatory attendees second,
+    // whichever engine counts the busy ranges.
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C);
+    List<AvailabilityEngine> engines = Arrays.asList(new PrefixSumEngine(), new BitsetEngine(),
+        new SweepLineEngine(), new ForkJoinEngine());
+    Random random = new Random(/* seed = */ 11);
+    TimeRangeList packed = new TimeRangeList();
+    for (int test = 0; test < 200; ++test) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 8; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(300)),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+      MeetingRequest request = new MeetingRequest(people.subList(0, 1), 1 + random.nextInt(240));
+      List<String> optionalAttendees = people.subList(1, people.size());
+
+      Collection<TimeRange> expected =
+          query.queryWithoutOptionalAttendees(events, new MeetingRequest(people, request.getDuration()));
+      if (expected.isEmpty()) {
+        expected = query.queryWithoutOptionalAttendees(events, request);
+      }
+      for (AvailabilityEngine engine : engines) {
+        FindMeetingQuery engineQuery = new FindMeetingQuery(engine);
+        Assert.assertEquals(expected, engineQuery.query(events, request, optionalAttendees));
+        Assert.assertEquals(expected,
+            engineQuery.query(new AttendeeIndex(events), request, optionalAttendees));
+
+        packed.clear();
+        engineQuery.query(new AttendeeIndex(events), request, optionalAttendees, packed);
+        Assert.assertEquals(expected, packed.toTimeRanges());
+      }
+    }
+  }
+
+  @Test
+  public void quorumOfTwoOutOfThree() {
+    // Events  :       |--A--|
+    //                    |--B--|
+    // Day     : |-----------------------------|
+    // Options : |--1--|     |--------2--------|
+    //
+    // Between 9:00 and 9:30 both A and B are busy, so only C is free.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0930AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_B)));
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B, PERSON_C), DURATION_30_MINUTES, 2);
+
+    Collection<TimeRange> actual = query.queryWithQuorum(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void quorumMatchesBruteForce() {
+    // Compare against counting the attendees who are free for every possible meeting.
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C, "Person D", "Person E");
+    Random random = new Random(/* seed = */ 12);
+    for (int test = 0; test < 200; ++test) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 12; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(240)),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+      int duration = 1 + random.nextInt(120);
+      int quorum = 1 + random.nextInt(people.size());
+      MeetingRequest request = new MeetingRequest(people, duration, quorum);
+
+      Collection<TimeRange> actual = query.queryWithQuorum(events, request);
+      for (int start = 0; start + duration <= TimeRange.WHOLE_DAY.duration(); ++start) {
+        TimeRange meeting = TimeRange.fromStartDuration(start, duration);
+        Set<String> busy = new HashSet<>();
+        for (Event event : events) {
+          if (event.getWhen().overlaps(meeting)) {
+            busy.addAll(event.getAttendees());
+          }
+        }
+        boolean returned = false;
+        for (TimeRange range : actual) {
+          returned |= range.contains(meeting);
+        }
+        Assert.assertEquals(people.size() - busy.size() >= quorum, returned);
+      }
+    }
+  }
+
+  @Test
+  public void quorumOfZeroNeedsEveryone() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_1000AM, DURATION_60_MINUTES),
+            Arrays.asList(PERSON_B)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+
+    Assert.assertEquals(query.queryWithoutOptionalAttendees(events, request),
+        query.queryWithQuorum(events, request));
+  }
+
+  @Test
+  public void topSlotsEarliest() {
+    // Events  :       |--A--|
+    // Day     : |-----------------------------|
+    // Options : |--1--|     |--2--|
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY + 20, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_15_MINUTES);
+
+    List<TimeRange> actual = query.queryTopSlots(events, request, SlotScorer.earliest(), 3);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartDuration(TimeRange.START_OF_DAY, DURATION_15_MINUTES),
+        TimeRange.fromStartDuration(TimeRange.START_OF_DAY + 5, DURATION_15_MINUTES),
+        TimeRange.fromStartDuration(TIME_0900AM, DURATION_15_MINUTES));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void topSlotsClosestToPreferredTime() {
+    // 10:00 and 10:15 are closer to 9:30 than 8:30, the last start time before the event.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    List<TimeRange> actual =
+        query.queryTopSlots(events, request, SlotScorer.closestTo(TIME_0930AM), 2);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartDuration(TIME_1000AM, DURATION_30_MINUTES),
+        TimeRange.fromStartDuration(TIME_1015AM, DURATION_30_MINUTES));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void topSlotsMatchScoringEveryCandidate() {
+    List<SlotScorer> scorers = Arrays.asList(SlotScorer.earliest(), SlotScorer.closestTo(TIME_1000AM),
+        SlotScorer.leastFragmentation());
+    Random random = new Random(/* seed = */ 13);
+    for (int test = 0; test < 200; ++test) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 10; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(180)),
+            Arrays.asList(PERSON_A)));
+      }
+      int duration = 1 + random.nextInt(90);
+      MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), duration);
+      int k = 1 + random.nextInt(5);
+
+      for (SlotScorer scorer : scorers) {
+        // Score every start time the query may offer and keep the best k.
+        List<double[]> candidates = new ArrayList<>();
+        for (TimeRange free : query.queryWithoutOptionalAttendees(events, request)) {
+          for (int start = free.start(); start + duration <= free.end(); ++start) {
+            if (start == free.start() || start + duration == free.end()
+                || start % FindMeetingQuery.CANDIDATE_STEP == 0) {
+              candidates.add(
+                  new double[] {scorer.score(start, duration, free.start(), free.end()), start});
+            }
+          }
+        }
+        candidates.sort((a, b) -> a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+        List<TimeRange> expected = new ArrayList<>();
+        for (double[] candidate : candidates.subList(0, Math.min(k, candidates.size()))) {
+          expected.add(TimeRange.fromStartDuration((int) candidate[1], duration));
+        }
+
+        Assert.assertEquals(expected, query.queryTopSlots(events, request, scorer, k));
+      }
+    }
+  }
+
+  @Test
+  public void roomsAndPeopleTogether() {
+    // Events  :       |--A--|
+    //                       |--Room 1--|
+    // Day     : |-----------------------------|
+    // Room 1  : |--1--|                |--2---|
+    // Room 2  : |--1--|     |------2----------|
+    //
+    // Room 3 is too small and room 4 has no projector.
+    Resource room1 = new Resource("Room 1", 6, Arrays.asList("projector"));
+    Resource room2 = new Resource("Room 2", 10, Arrays.asList("projector", "whiteboard"));
+    Resource room3 = new Resource("Room 3", 2, Arrays.asList("projector"));
+    Resource room4 = new Resource("Room 4", 10, Arrays.asList("whiteboard"));
+    ResourceIndex rooms = new ResourceIndex(Arrays.asList(room1, room2, room3, room4));
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Booking", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(room1.getName(), PERSON_B)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.setRoomCapacity(5);
+    request.addRoomEquipment("projector");
+
+    List<RoomSlot> actual = query.queryWithRooms(events, rooms, request);
+    List<RoomSlot> expected = Arrays.asList(
+        new RoomSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false), room1),
+        new RoomSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false), room2),
+        new RoomSlot(TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true), room2),
+        new RoomSlot(TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true), room1));
+
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(expected, query.queryWithRooms(new AttendeeIndex(events), rooms, request));
+  }
+
+  @Test
+  public void roomCapacityDefaultsToTheAttendees() {
+    Resource small = new Resource("Small room", 2, Collections.emptyList());
+    Resource large = new Resource("Large room", 3, Collections.emptyList());
+    ResourceIndex rooms = new ResourceIndex(Arrays.asList(small, large));
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B, PERSON_C), DURATION_30_MINUTES);
+
+    List<RoomSlot> actual = query.queryWithRooms(NO_EVENTS, rooms, request);
+    List<RoomSlot> expected = Arrays.asList(new RoomSlot(TimeRange.WHOLE_DAY, large));
+
+    Assert.assertEquals(3, request.getRequiredRoomCapacity());
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void jointScheduleOfInterviewLoop() {
+    // Events  : |--------C-------|       |-------C--------|
+    //                            |-A-|
+    // Day     : |-----------------------------------------|
+    // Options :                  |--B--M2--|--A--M1--|
+    //
+    // Person C, the candidate, meets A and B for an hour each. A is busy until 8:30, so M1 can only
+    // take the second hour, which leaves the first one for M2.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_A)));
+    List<MeetingRequest> requests = Arrays.asList(
+        new MeetingRequest(Arrays.asList(PERSON_C, PERSON_A), DURATION_1_HOUR),
+        new MeetingRequest(Arrays.asList(PERSON_C, PERSON_B), DURATION_1_HOUR));
+
+    List<TimeRange> actual = query.queryJointSchedule(events, requests, /* timeoutMillis = */ 10000);
+    List<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartDuration(TIME_0900AM, DURATION_1_HOUR),
+            TimeRange.fromStartDuration(TIME_0800AM, DURATION_1_HOUR));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void jointScheduleWithoutRoomForEveryMeeting() {
+    // Person C is only free for 90 minutes, which cannot hold two meetings of an hour.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C)));
+    List<MeetingRequest> requests = Arrays.asList(
+        new MeetingRequest(Arrays.asList(PERSON_C, PERSON_A), DURATION_1_HOUR),
+        new MeetingRequest(Arrays.asList(PERSON_C, PERSON_B), DURATION_1_HOUR));
+
+    Assert.assertTrue(query.queryJointSchedule(events, requests, 10000).isEmpty());
+  }
+
+  @Test
+  public void jointScheduleGivesUpAtDeadline() {
+    List<MeetingRequest> requests =
+        Arrays.asList(new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR));
+
+    Assert.assertTrue(query.queryJointSchedule(NO_EVENTS, requests, 0).isEmpty());
+  }
+
+  @Test
+  public void jointScheduleHasNoConflicts() {
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C);
+    Random random = new Random(/* seed = */ 12);
+    for (int test = 0; test < 50; ++test) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 10; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, 1 + random.nextInt(120)),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+      List<MeetingRequest> requests = new ArrayList<>();
+      for (int i = 0; i < 6; ++i) {
+        Collections.shuffle(people, random);
+        requests.add(new MeetingRequest(people.subList(0, 1 + random.nextInt(2)),
+            15 + random.nextInt(90)));
+      }
+
+      List<TimeRange> actual = query.queryJointSchedule(events, requests, 10000);
+
+      Assert.assertEquals(requests.size(), actual.size());
+      for (int i = 0; i < requests.size(); ++i) {
+        MeetingRequest request = requests.get(i);
+        Assert.assertEquals(request.getDuration(), actual.get(i).duration());
+        Assert.assertTrue(TimeRange.WHOLE_DAY.contains(actual.get(i)));
+        for (Event event : events) {
+          Assert.assertFalse(event.containsRequestedAttendees(request.getAttendees())
+              && event.getWhen().overlaps(actual.get(i)));
+        }
+        for (int j = 0; j < i; ++j) {
+          Assert.assertFalse(
+              !Collections.disjoint(request.getAttendees(), requests.get(j).getAttendees())
+                  && actual.get(i).overlaps(actual.get(j)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void alignedQueryOnlyStartsOnAlignedMinutes() {
+    // Events  :      |--A--|
+    // Day     : |-----------------------------|
+    // Options : |---|              |----------|
+    Collection<Event> events = Arrays.asList(new Event("Event 1",
+        TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(8, 5), TimeRange.getTimeInMinutes(8, 50),
+            false),
+        Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.setAlignment(15);
+
+    Collection<TimeRange> actual = query.query(events, request, NO_ATTENDEES);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void alignedQueryKeepsTheRealDuration() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0830AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 20);
+    request.setAlignment(30);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(TIME_0800AM, 20)),
+        query.query(events, request, NO_ATTENDEES));
+
+    request = new MeetingRequest(Arrays.asList(PERSON_A), 31);
+    request.setAlignment(30);
+
+    Assert.assertEquals(Arrays.asList(), query.query(events, request, NO_ATTENDEES));
+  }
+
+  @Test
+  public void alignedQueryKeepsStartBeforeBusyRangeInsideCell() {
+    // Busy from 8:25, in the middle of the 8:15 cell, but a 20 minute meeting at 8:00 still fits.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2",
+            TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(8, 25), TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 20);
+    request.setAlignment(15);
+
+    Collection<TimeRange> actual = query.query(events, request, NO_ATTENDEES);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartDuration(TIME_0800AM, 20));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void alignedQueryIgnoresOptionalAttendeeWithoutAlignedStart() {
+    // B is only free from 8:05 to 8:35, which fits 30 minutes but not from a quarter hour.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1",
+            TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TimeRange.getTimeInMinutes(8, 5), false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2",
+            TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(8, 35), TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)));
+    MeetingRequest unaligned = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest aligned = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    aligned.setAlignment(15);
+
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(8, 5),
+            TimeRange.getTimeInMinutes(8, 35), false)),
+        query.query(events, unaligned, Arrays.asList(PERSON_B)));
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY),
+        query.query(events, aligned, Arrays.asList(PERSON_B)));
+  }
+
+  @Test
+  public void alignedQueryWithQuorum() {
+    // Events  :      |--A--|
+    //                |--B--|
+    // Day     : |-----------------------------|
+    // Options : |---|              |----------|
+    //
+    // Only C is free from 8:05 to 8:50, and the meetings around it must start on a quarter hour.
+    TimeRange busy = TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(8, 5),
+        TimeRange.getTimeInMinutes(8, 50), false);
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", busy, Arrays.asList(PERSON_A)),
+        new Event("Event 2", busy, Arrays.asList(PERSON_B)));
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B, PERSON_C), DURATION_30_MINUTES, 2);
+    request.setAlignment(15);
+
+    Collection<TimeRange> actual = query.queryWithQuorum(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void alignedJointSchedule() {
+    // Person C meets A and B for 37 minutes each between 8:00 and 10:00. The second meeting cannot
+    // start right after the first one at 8:37, but it can at the next quarter hour.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C)));
+    MeetingRequest first = new MeetingRequest(Arrays.asList(PERSON_C, PERSON_A), 37);
+    first.setAlignment(15);
+    MeetingRequest second = new MeetingRequest(Arrays.asList(PERSON_C, PERSON_B), 37);
+    second.setAlignment(15);
+
+    List<TimeRange> actual =
+        query.queryJointSchedule(events, Arrays.asList(first, second), /* timeoutMillis = */ 10000);
+    List<TimeRange> expected = Arrays.asList(TimeRange.fromStartDuration(TIME_0800AM, 37),
+        TimeRange.fromStartDuration(TimeRange.getTimeInMinutes(8, 45), 37));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void alignedQueryFindsEveryAlignedStartOfUnalignedQuery() {
+    Random random = new Random(/* seed = */ 13);
+    int[] alignments = {5, 15, 30, 60};
+    for (int test = 0; test < 200; ++test) {
+      List<Event> events = new ArrayList<>();
+      int numberOfEvents = random.nextInt(10);
+      for (int i = 0; i < numberOfEvents; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        events.add(new Event("Event " + i, TimeRange.fromStartDuration(start,
+            Math.min(1 + random.nextInt(90), TimeRange.WHOLE_DAY.duration() - start)),
+            Arrays.asList(PERSON_A)));
+      }
+      int duration = 1 + random.nextInt(100);
+      int alignment = alignments[random.nextInt(alignments.length)];
+      MeetingRequest unaligned = new MeetingRequest(Arrays.asList(PERSON_A), duration);
+      MeetingRequest aligned = new MeetingRequest(Arrays.asList(PERSON_A), duration);
+      aligned.setAlignment(alignment);
+
+      Assert.assertEquals(alignedStarts(query.query(events, unaligned, NO_ATTENDEES), alignment,
+          duration), alignedStarts(query.query(events, aligned, NO_ATTENDEES), alignment, duration));
+    }
+  }
+
+  /** Returns the multiples of {@code alignment} at which a meeting of {@code duration} minutes fits
+    * in one of {@code ranges}.
+    */
+  private static Set<Integer> alignedStarts(Collection<TimeRange> ranges, int alignment,
+      int duration) {
+    Set<Integer> starts = new HashSet<>();
+    for (TimeRange range : ranges) {
+      int first = (range.start() + alignment - 1) / alignment * alignment;
+      for (int start = first; start + duration <= range.end(); start += alignment) {
+        starts.add(start);
+      }
+    }
+    return starts;
+  }
+
+  @Test
+  public void eventPastTheEndOfTheDayIsIgnored() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(1500, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = query.query(events, request, NO_ATTENDEES);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(expected, actual);
+  }
 }
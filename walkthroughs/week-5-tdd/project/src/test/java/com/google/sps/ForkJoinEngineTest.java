@@ -0,0 +1,141 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ForkJoinEngineTest {
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final AvailabilityEngine prefixSum = new PrefixSumEngine();
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void sequentialMatchesPrefixSumEngine() {
+    assertMatchesPrefixSumEngine(new ForkJoinEngine(pool, Integer.MAX_VALUE),
+        /* minRanges = */ 0, /* maxRanges = */ 20, /* tests = */ 300);
+  }
+
+  @Test
+  public void parallelMatchesPrefixSumEngine() {
+    // A threshold of 1 forks every query down to single busy ranges.
+    assertMatchesPrefixSumEngine(new ForkJoinEngine(pool, 1),
+        /* minRanges = */ 0, /* maxRanges = */ 200, /* tests = */ 300);
+  }
+
+  @Test
+  public void thresholdGrowsWithParallelism() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool eight = new ForkJoinPool(8);
+    try {
+      Assert.assertEquals(Integer.MAX_VALUE, ForkJoinEngine.sequentialThreshold(single));
+      Assert.assertEquals(2 * ForkJoinEngine.sequentialThreshold(pool),
+          ForkJoinEngine.sequentialThreshold(eight));
+    } finally {
+      single.shutdown();
+      eight.shutdown();
+    }
+  }
+
+  @Test
+  public void adaptiveThresholdMatchesPrefixSumEngine() {
+    // Enough busy ranges to cross the threshold of the pool, so that the queries fork.
+    int threshold = ForkJoinEngine.sequentialThreshold(pool);
+    assertMatchesPrefixSumEngine(new ForkJoinEngine(pool),
+        /* minRanges = */ threshold, /* maxRanges = */ 2 * threshold, /* tests = */ 10);
+  }
+
+  @Test
+  public void filteredEventsMatchPrefixSumEngine() {
+    List<String> people = Arrays.asList("Person A", "Person B", "Person C");
+    Random random = new Random(/* seed = */ 11);
+    for (ForkJoinEngine forkJoin :
+        Arrays.asList(new ForkJoinEngine(pool, Integer.MAX_VALUE), new ForkJoinEngine(pool, 1))) {
+      for (int test = 0; test < 100; ++test) {
+        List<Event> events = new ArrayList<>();
+        int numberOfEvents = random.nextInt(100);
+        for (int i = 0; i < numberOfEvents; ++i) {
+          int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+          events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, random.nextInt(60)),
+              Arrays.asList(people.get(random.nextInt(people.size())))));
+        }
+        Collection<String> attendees = people.subList(0, 1 + random.nextInt(2));
+        int duration = random.nextInt(120);
+
+        Assert.assertEquals(prefixSum.findAvailableTimeRangesFor(events, attendees, duration),
+            forkJoin.findAvailableTimeRangesFor(events, attendees, duration));
+      }
+    }
+  }
+
+  @Test
+  public void optionalRangesMatchPrefixSumEngine() {
+    Random random = new Random(/* seed = */ 12);
+    for (ForkJoinEngine forkJoin :
+        Arrays.asList(new ForkJoinEngine(pool, Integer.MAX_VALUE), new ForkJoinEngine(pool, 1))) {
+      for (int test = 0; test < 300; ++test) {
+        List<TimeRange> mandatory = new ArrayList<>();
+        List<TimeRange> optional = new ArrayList<>();
+        int numberOfRanges = random.nextInt(40);
+        for (int i = 0; i < numberOfRanges; ++i) {
+          int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+          TimeRange when = TimeRange.fromStartDuration(start, random.nextInt(120));
+          (random.nextBoolean() ? mandatory : optional).add(when);
+        }
+        int duration = random.nextInt(240);
+
+        Assert.assertEquals(prefixSum.findAvailableTimeRanges(mandatory, optional, duration),
+            forkJoin.findAvailableTimeRanges(mandatory, optional, duration));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNonPositiveThreshold() {
+    new ForkJoinEngine(pool, 0);
+  }
+
+  private void assertMatchesPrefixSumEngine(AvailabilityEngine forkJoin, int minRanges,
+      int maxRanges, int tests) {
+    Random random = new Random(/* seed = */ 10);
+    for (int test = 0; test < tests; ++test) {
+      List<TimeRange> busy = new ArrayList<>();
+      int numberOfRanges = minRanges + random.nextInt(maxRanges - minRanges);
+      for (int i = 0; i < numberOfRanges; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        busy.add(TimeRange.fromStartDuration(start, random.nextInt(60)));
+      }
+      int duration = random.nextInt(120);
+
+      Assert.assertEquals(prefixSum.findAvailableTimeRanges(busy, duration),
+          forkJoin.findAvailableTimeRanges(busy, duration));
+    }
+  }
+}
@@ -44,4 +44,14 @@ public final class MeetingRequestTest {
     int expected = 0;
     Assert.assertEquals(expected, actual);
   }
-}
\ No newline at end of file
+
+  @Test(expected = IllegalArgumentException.class)
+  public void quorumCannotExceedAttendees() {
+    new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_1_HOUR, 3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void alignmentMustDivideTheDay() {
+    new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR).setAlignment(7);
+  }
+}
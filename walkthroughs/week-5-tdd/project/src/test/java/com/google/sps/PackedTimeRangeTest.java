@@ -0,0 +1,95 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class PackedTimeRangeTest {
+  @Test
+  public void matchesTimeRange() {
+    Random random = new Random(/* seed = */ 23);
+    for (int test = 0; test < 10000; ++test) {
+      TimeRange a = randomRange(random);
+      TimeRange b = randomRange(random);
+      long packedA = PackedTimeRange.of(a);
+      long packedB = PackedTimeRange.of(b);
+      int point = random.nextInt(200);
+
+      Assert.assertEquals(a, PackedTimeRange.toTimeRange(packedA));
+      Assert.assertEquals(a.end(), PackedTimeRange.end(packedA));
+      Assert.assertEquals(a.equals(b), packedA == packedB);
+      Assert.assertEquals(a.overlaps(b), PackedTimeRange.overlaps(packedA, packedB));
+      Assert.assertEquals(a.contains(b), PackedTimeRange.contains(packedA, packedB));
+      Assert.assertEquals(a.contains(point), PackedTimeRange.contains(packedA, point));
+      Assert.assertEquals(Integer.signum(TimeRange.ORDER_BY_START.compare(a, b)),
+          Integer.signum(PackedTimeRange.compareByStart(packedA, packedB)));
+      Assert.assertEquals(Integer.signum(TimeRange.ORDER_BY_END.compare(a, b)),
+          Integer.signum(PackedTimeRange.compareByEnd(packedA, packedB)));
+      Assert.assertEquals(a.toString(), PackedTimeRange.toString(packedA));
+    }
+  }
+
+  @Test
+  public void listGrowsAndSortsByStart() {
+    Random random = new Random(/* seed = */ 24);
+    TimeRangeList list = new TimeRangeList(/* capacity = */ 0);
+    List<TimeRange> expected = new ArrayList<>();
+    for (int i = 0; i < 100; ++i) {
+      TimeRange range = randomRange(random);
+      list.add(PackedTimeRange.of(range));
+      expected.add(range);
+    }
+
+    Assert.assertEquals(expected, list.toTimeRanges());
+
+    list.sortByStart();
+    expected.sort(TimeRange.ORDER_BY_START.thenComparing(TimeRange::duration));
+    Assert.assertEquals(expected, list.toTimeRanges());
+    Assert.assertEquals(expected.get(99).start(), list.start(99));
+    Assert.assertEquals(expected.get(99).end(), list.end(99));
+  }
+
+  @Test
+  public void clearKeepsNothing() {
+    TimeRangeList list = new TimeRangeList();
+    list.add(0, 30);
+    list.clear();
+    list.add(60, 90);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(60, 90, false)), list.toTimeRanges());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getPastTheEnd() {
+    TimeRangeList list = new TimeRangeList();
+    list.add(0, 30);
+    list.get(1);
+  }
+
+  private static TimeRange randomRange(Random random) {
+    // include empty ranges, which contain nothing
+    return TimeRange.fromStartDuration(random.nextInt(150), random.nextInt(4) == 0 ? 0
+        : random.nextInt(60));
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryCacheTest {
+  private static final Collection<String> NO_ATTENDEES = Collections.emptySet();
+
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private final AtomicInteger queries = new AtomicInteger();
+  private final Supplier<Collection<TimeRange>> query = () -> {
+    queries.incrementAndGet();
+    return Arrays.asList(TimeRange.WHOLE_DAY);
+  };
+
+  private QueryCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new QueryCache(/* maxEntries = */ 2);
+  }
+
+  @Test
+  public void attendeeOrderDoesNotMatter() {
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES),
+        NO_ATTENDEES, 0, query);
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_B, PERSON_A), DURATION_30_MINUTES),
+        NO_ATTENDEES, 0, query);
+
+    Assert.assertEquals(1, queries.get());
+    Assert.assertEquals(1, cache.getStats().getHits());
+    Assert.assertEquals(1, cache.getStats().getMisses());
+  }
+
+  @Test
+  public void optionalAttendeesAndDurationArePartOfTheKey() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    cache.get(request, NO_ATTENDEES, 0, query);
+    cache.get(request, Arrays.asList(PERSON_B), 0, query);
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES + 1),
+        NO_ATTENDEES, 0, query);
+
+    Assert.assertEquals(3, queries.get());
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() {
+    MeetingRequest first = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest second = new MeetingRequest(Arrays.asList(PERSON_B), DURATION_30_MINUTES);
+    MeetingRequest third = new MeetingRequest(NO_ATTENDEES, DURATION_30_MINUTES);
+    cache.get(first, NO_ATTENDEES, 0, query);
+    cache.get(second, NO_ATTENDEES, 0, query);
+    // Use the first entry again so that the second one is the least recently used.
+    cache.get(first, NO_ATTENDEES, 0, query);
+    cache.get(third, NO_ATTENDEES, 0, query);
+    cache.get(first, NO_ATTENDEES, 0, query);
+    cache.get(second, NO_ATTENDEES, 0, query);
+
+    Assert.assertEquals(4, queries.get());
+    Assert.assertEquals(2, cache.getStats().getEvictions());
+    Assert.assertEquals(2, cache.getStats().getSize());
+  }
+
+  @Test
+  public void newVersionInvalidatesEntries() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    cache.get(request, NO_ATTENDEES, 0, query);
+    cache.get(request, NO_ATTENDEES, 1, query);
+    cache.get(request, NO_ATTENDEES, 1, query);
+
+    Assert.assertEquals(2, queries.get());
+    Assert.assertEquals(1, cache.getStats().getInvalidations());
+    Assert.assertEquals(1, cache.getStats().getSize());
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryExecutorTest {
+  private final QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 2);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  public void rejectsWorkWhenTheQueueIsFull() throws InterruptedException {
+    CountDownLatch running = new CountDownLatch(1);
+    Assert.assertTrue(executor.submit(() -> {
+      running.countDown();
+      awaitRelease();
+    }));
+    Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+    // the thread is busy, so two tasks fit in the queue and the third one does not
+    Assert.assertTrue(executor.submit(this::awaitRelease));
+    Assert.assertTrue(executor.submit(this::awaitRelease));
+    Assert.assertFalse(executor.submit(this::awaitRelease));
+
+    QueryExecutor.Stats stats = executor.getStats();
+    Assert.assertEquals(1, stats.getActive());
+    Assert.assertEquals(2, stats.getQueueDepth());
+    Assert.assertEquals(2, stats.getMaxQueueDepth());
+    Assert.assertEquals(3, stats.getAccepted());
+    Assert.assertEquals(1, stats.getRejected());
+  }
+
+  @Test
+  public void countsCompletedWork() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(3);
+    for (int i = 0; i < 3; ++i) {
+      Assert.assertTrue(executor.submit(done::countDown));
+    }
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (executor.getStats().getCompleted() < 3 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    Assert.assertEquals(3, executor.getStats().getCompleted());
+    Assert.assertEquals(0, executor.getStats().getRejected());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNonPositiveQueueCapacity() {
+    new QueryExecutor(1, 0);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RecurrenceRuleTest {
+  // Monday, January 6th 2020, 00:00 UTC.
+  private static final long MONDAY = 1578268800000L;
+  private static final long ONE_DAY = TimeUnit.DAYS.toMillis(1);
+  private static final long ONE_WEEK = TimeUnit.DAYS.toMillis(7);
+  private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  // Mondays from 10:00 to 11:00.
+  private static final EpochRange FIRST_1_ON_1 =
+      EpochRange.fromStartDuration(MONDAY + 10 * ONE_HOUR, ONE_HOUR);
+
+  @Test
+  public void onlyExpandsTheWindow() {
+    RecurrenceRule rule = RecurrenceRule.weekly(FIRST_1_ON_1);
+
+    // A window three years later, covering two Mondays.
+    long windowStart = MONDAY + 156 * ONE_WEEK;
+    List<EpochRange> actual =
+        rule.occurrences(EpochRange.fromStartDuration(windowStart, 2 * ONE_WEEK));
+
+    Assert.assertEquals(Arrays.asList(
+        EpochRange.fromStartDuration(windowStart + 10 * ONE_HOUR, ONE_HOUR),
+        EpochRange.fromStartDuration(windowStart + ONE_WEEK + 10 * ONE_HOUR, ONE_HOUR)), actual);
+  }
+
+  @Test
+  public void occurrenceOverlappingWindowStart() {
+    RecurrenceRule rule = RecurrenceRule.daily(FIRST_1_ON_1);
+
+    List<EpochRange> actual = rule.occurrences(
+        EpochRange.fromStartEnd(MONDAY + ONE_DAY + 10 * ONE_HOUR + 1, MONDAY + 2 * ONE_DAY));
+
+    Assert.assertEquals(
+        Arrays.asList(EpochRange.fromStartDuration(MONDAY + ONE_DAY + 10 * ONE_HOUR, ONE_HOUR)),
+        actual);
+  }
+
+  @Test
+  public void intervalUntilAndExceptions() {
+    // Every other day for a week, except the second occurrence.
+    long second = FIRST_1_ON_1.start() + 2 * ONE_DAY;
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 2, FIRST_1_ON_1,
+        MONDAY + ONE_WEEK, Arrays.asList(second));
+
+    List<EpochRange> actual = rule.occurrences(EpochRange.fromStartDuration(MONDAY, 4 * ONE_WEEK));
+
+    Assert.assertEquals(Arrays.asList(FIRST_1_ON_1,
+        EpochRange.fromStartDuration(FIRST_1_ON_1.start() + 4 * ONE_DAY, ONE_HOUR),
+        EpochRange.fromStartDuration(FIRST_1_ON_1.start() + 6 * ONE_DAY, ONE_HOUR)), actual);
+  }
+
+  @Test
+  public void queryAroundRecurringEvents() {
+    // A has a daily stand-up from 10:00 to 11:00, B a weekly meeting on Mondays from 11:00 to 12:00.
+    List<RecurringEvent> events = Arrays.asList(
+        new RecurringEvent("Stand-up", RecurrenceRule.daily(FIRST_1_ON_1), Arrays.asList(PERSON_A)),
+        new RecurringEvent("Review",
+            RecurrenceRule.weekly(EpochRange.fromStartDuration(MONDAY + 11 * ONE_HOUR, ONE_HOUR)),
+            Arrays.asList(PERSON_B)),
+        new RecurringEvent("Other", RecurrenceRule.daily(EpochRange.fromStartDuration(MONDAY, ONE_DAY)),
+            Collections.singletonList("Someone else")));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 60);
+
+    // Monday and Tuesday from 9:00 to 13:00.
+    EpochRange window = EpochRange.fromStartEnd(MONDAY + 9 * ONE_HOUR, MONDAY + ONE_DAY + 13 * ONE_HOUR);
+    List<EpochRange> actual = new FindMeetingQuery().queryRecurring(events, request, window);
+
+    Assert.assertEquals(Arrays.asList(
+        EpochRange.fromStartEnd(window.start(), MONDAY + 10 * ONE_HOUR),
+        EpochRange.fromStartEnd(MONDAY + 12 * ONE_HOUR, MONDAY + ONE_DAY + 10 * ONE_HOUR),
+        EpochRange.fromStartEnd(MONDAY + ONE_DAY + 11 * ONE_HOUR, window.end())), actual);
+  }
+}
@@ -0,0 +1,67 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ResourceIndexTest {
+  private static final Resource SMALL = new Resource("Small", 4, Arrays.asList("whiteboard"));
+  private static final Resource MEDIUM =
+      new Resource("Medium", 8, Arrays.asList("projector", "whiteboard"));
+  private static final Resource LARGE = new Resource("Large", 20, Arrays.asList("projector"));
+
+  private final ResourceIndex index = new ResourceIndex(Arrays.asList(LARGE, SMALL, MEDIUM));
+
+  @Test
+  public void findByCapacity() {
+    Assert.assertEquals(Arrays.asList(SMALL, MEDIUM, LARGE),
+        index.find(0, Collections.emptyList()));
+    Assert.assertEquals(Arrays.asList(MEDIUM, LARGE), index.find(5, Collections.emptyList()));
+    Assert.assertEquals(Arrays.asList(LARGE), index.find(20, Collections.emptyList()));
+    Assert.assertEquals(Arrays.asList(), index.find(21, Collections.emptyList()));
+  }
+
+  @Test
+  public void findByEquipment() {
+    Assert.assertEquals(Arrays.asList(MEDIUM, LARGE), index.find(0, Arrays.asList("projector")));
+    Assert.assertEquals(Arrays.asList(MEDIUM),
+        index.find(0, Arrays.asList("projector", "whiteboard")));
+    Assert.assertEquals(Arrays.asList(LARGE), index.find(10, Arrays.asList("projector")));
+    Assert.assertEquals(Arrays.asList(), index.find(0, Arrays.asList("espresso machine")));
+  }
+
+  @Test
+  public void findMatchesScanningEveryResource() {
+    List<Resource> all = index.getResources();
+    for (int capacity = 0; capacity <= 25; ++capacity) {
+      for (List<String> equipment : Arrays.asList(Collections.<String>emptyList(),
+          Arrays.asList("projector"), Arrays.asList("whiteboard"))) {
+        List<Resource> found = index.find(capacity, equipment);
+        for (Resource resource : all) {
+          boolean fits = resource.getCapacity() >= capacity
+              && resource.getEquipment().containsAll(equipment);
+          Assert.assertEquals(fits, found.contains(resource));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SweepLineEngineTest {
+  // Monday, January 6th 2020, 00:00 UTC.
+  private static final long MONDAY = 1578268800000L;
+  private static final long ONE_DAY = TimeUnit.DAYS.toMillis(1);
+  private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toMillis(1);
+
+  private final SweepLineEngine sweepLine = new SweepLineEngine();
+
+  @Test
+  public void matchesPrefixSumEngine() {
+    AvailabilityEngine prefixSum = new PrefixSumEngine();
+    Random random = new Random(/* seed = */ 7);
+    for (int test = 0; test < 500; ++test) {
+      List<TimeRange> busy = new ArrayList<>();
+      int numberOfRanges = random.nextInt(20);
+      for (int i = 0; i < numberOfRanges; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        busy.add(TimeRange.fromStartDuration(start, random.nextInt(180)));
+      }
+      int duration = random.nextInt(600);
+
+      Assert.assertEquals(prefixSum.findAvailableTimeRanges(busy, duration),
+          sweepLine.findAvailableTimeRanges(busy, duration));
+    }
+  }
+
+  @Test
+  public void optionalRangesMatchPrefixSumEngine() {
+    AvailabilityEngine prefixSum = new PrefixSumEngine();
+    Random random = new Random(/* seed = */ 8);
+    for (int test = 0; test < 500; ++test) {
+      List<TimeRange> mandatory = new ArrayList<>();
+      List<TimeRange> optional = new ArrayList<>();
+      int numberOfRanges = random.nextInt(20);
+      for (int i = 0; i < numberOfRanges; ++i) {
+        int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+        TimeRange when = TimeRange.fromStartDuration(start, random.nextInt(180));
+        (random.nextBoolean() ? mandatory : optional).add(when);
+      }
+      int duration = random.nextInt(600);
+
+      Assert.assertEquals(prefixSum.findAvailableTimeRanges(mandatory, optional, duration),
+          sweepLine.findAvailableTimeRanges(mandatory, optional, duration));
+    }
+  }
+
+  @Test
+  public void multiWeekWindow() {
+    // Busy for the whole of every day but Wednesday of the second week, over a two week window.
+    EpochRange window = EpochRange.fromStartDuration(MONDAY, 14 * ONE_DAY);
+    EpochRange wednesday = EpochRange.fromStartDuration(MONDAY + 9 * ONE_DAY, ONE_DAY);
+    Collection<EpochRange> busy = Arrays.asList(
+        EpochRange.fromStartEnd(MONDAY, wednesday.start()),
+        EpochRange.fromStartEnd(wednesday.end(), window.end() + ONE_DAY));
+
+    Assert.assertEquals(Arrays.asList(wednesday),
+        sweepLine.findAvailableRanges(busy, window, 2 * ONE_HOUR));
+    Assert.assertEquals(Arrays.asList(),
+        sweepLine.findAvailableRanges(busy, window, ONE_DAY + 1));
+  }
+
+  @Test
+  public void subMinutePrecision() {
+    // The gap between the two ranges is 59 seconds, which is too short for a one minute meeting.
+    EpochRange window = EpochRange.fromStartDuration(MONDAY, ONE_HOUR);
+    Collection<EpochRange> busy = Arrays.asList(
+        EpochRange.fromStartDuration(MONDAY, 30 * 60 * ONE_SECOND),
+        EpochRange.fromStartEnd(MONDAY + (30 * 60 + 59) * ONE_SECOND, window.end()));
+
+    Assert.assertEquals(Arrays.asList(),
+        sweepLine.findAvailableRanges(busy, window, 60 * ONE_SECOND));
+    Assert.assertEquals(
+        Arrays.asList(EpochRange.fromStartDuration(MONDAY + 30 * 60 * ONE_SECOND, 59 * ONE_SECOND)),
+        sweepLine.findAvailableRanges(busy, window, 59 * ONE_SECOND));
+  }
+}
@@ -0,0 +1,89 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class TimeRangeIndexTest {
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_0930AM = TimeRange.getTimeInMinutes(9, 30);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final Event EARLY = new Event("Early",
+      TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Collections.emptyList());
+  private static final Event LATE = new Event("Late",
+      TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false), Collections.emptyList());
+  private static final Event ALL_DAY =
+      new Event("All day", TimeRange.WHOLE_DAY, Collections.emptyList());
+
+  @Test
+  public void windowQueries() {
+    TimeRangeIndex<Event> index = TimeRangeIndex.ofEvents(Arrays.asList(LATE, ALL_DAY, EARLY));
+
+    Assert.assertEquals(Arrays.asList(ALL_DAY, EARLY), index.overlapping(TIME_0900AM, TIME_1000AM));
+    Assert.assertEquals(Arrays.asList(ALL_DAY, EARLY, LATE),
+        index.overlapping(TIME_0930AM, TIME_1000AM + 1));
+    Assert.assertEquals(Arrays.asList(ALL_DAY), index.overlapping(0, TIME_0900AM));
+    Assert.assertEquals(Arrays.asList(), index.overlapping(TIME_0930AM, TIME_0930AM));
+  }
+
+  @Test
+  public void stabbingQueries() {
+    TimeRangeIndex<Event> index = TimeRangeIndex.ofEvents(Arrays.asList(LATE, ALL_DAY, EARLY));
+
+    Assert.assertEquals(Arrays.asList(ALL_DAY, LATE), index.containing(TIME_1000AM));
+    Assert.assertEquals(Arrays.asList(ALL_DAY, EARLY), index.containing(TIME_1000AM - 1));
+    Assert.assertEquals(Arrays.asList(), index.containing(TimeRange.WHOLE_DAY.end()));
+  }
+
+  @Test
+  public void matchesScanningEveryRange() {
+    Random random = new Random(/* seed = */ 17);
+    for (int test = 0; test < 200; ++test) {
+      List<TimeRange> ranges = new ArrayList<>();
+      int numberOfRanges = random.nextInt(50);
+      for (int i = 0; i < numberOfRanges; ++i) {
+        ranges.add(TimeRange.fromStartDuration(
+            random.nextInt(TimeRange.WHOLE_DAY.duration()), random.nextInt(300)));
+      }
+      TimeRangeIndex<TimeRange> index = new TimeRangeIndex<>(ranges, Function.identity());
+
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+      int end = start + random.nextInt(200);
+      List<TimeRange> expected = new ArrayList<>();
+      for (TimeRange range : ranges) {
+        if (range.start() < end && start < range.end() && range.duration() > 0) {
+          expected.add(range);
+        }
+      }
+      expected.sort(TimeRange.ORDER_BY_START);
+
+      List<TimeRange> actual = index.overlapping(start, end);
+      actual.sort(TimeRange.ORDER_BY_START);
+      Assert.assertEquals(start < end ? expected : Arrays.asList(), actual);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class WorkingHoursTest {
+  private static final String PERSON_LONDON = "Person in London";
+  private static final String PERSON_NEW_YORK = "Person in New York";
+
+  private static final ZoneId UTC = ZoneOffset.UTC;
+  private static final LocalTime NINE = LocalTime.of(9, 0);
+  private static final LocalTime FIVE = LocalTime.of(17, 0);
+
+  // A Monday in winter and a Monday in summer, when both cities observe daylight saving time.
+  private static final LocalDate WINTER_MONDAY = LocalDate.of(2020, 1, 6);
+  private static final LocalDate SUMMER_MONDAY = LocalDate.of(2020, 7, 6);
+  private static final LocalDate SATURDAY = LocalDate.of(2020, 1, 11);
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+  private final WorkingHoursProfiles profiles = new WorkingHoursProfiles();
+  private final MeetingRequest request =
+      new MeetingRequest(Arrays.asList(PERSON_LONDON, PERSON_NEW_YORK), 60);
+
+  @Before
+  public void setUp() {
+    profiles.setWorkingHours(PERSON_LONDON,
+        WorkingHours.weekdays(ZoneId.of("Europe/London"), NINE, FIVE));
+    profiles.setWorkingHours(PERSON_NEW_YORK,
+        WorkingHours.weekdays(ZoneId.of("America/New_York"), NINE, FIVE));
+  }
+
+  @Test
+  public void overlapOfTwoTimeZones() {
+    // In winter London is UTC and New York is UTC-5, so both work from 14:00 to 17:00 UTC.
+    Collection<TimeRange> actual = queryOn(WINTER_MONDAY, new AttendeeIndex(Collections.emptyList()));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(
+        TimeRange.getTimeInMinutes(14, 0), TimeRange.getTimeInMinutes(17, 0), false)), actual);
+  }
+
+  @Test
+  public void followsDaylightSavingTime() {
+    // In summer London is UTC+1 and New York is UTC-4, so both work from 13:00 to 16:00 UTC.
+    Collection<TimeRange> actual = queryOn(SUMMER_MONDAY, new AttendeeIndex(Collections.emptyList()));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(
+        TimeRange.getTimeInMinutes(13, 0), TimeRange.getTimeInMinutes(16, 0), false)), actual);
+  }
+
+  @Test
+  public void combinesWithEvents() {
+    AttendeeIndex index = new AttendeeIndex(Arrays.asList(new Event("Event 1",
+        TimeRange.fromStartEnd(TimeRange.getTimeInMinutes(15, 0), TimeRange.getTimeInMinutes(16, 30), false),
+        Arrays.asList(PERSON_LONDON))));
+
+    Collection<TimeRange> actual = queryOn(WINTER_MONDAY, index);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(
+        TimeRange.getTimeInMinutes(14, 0), TimeRange.getTimeInMinutes(15, 0), false)), actual);
+  }
+
+  @Test
+  public void noWorkOnWeekends() {
+    Assert.assertEquals(Arrays.asList(),
+        queryOn(SATURDAY, new AttendeeIndex(Collections.emptyList())));
+  }
+
+  @Test
+  public void overnightShiftSpansMidnight() {
+    // 22:00 to 6:00 UTC, every day: free before 6:00 and after 22:00.
+    WorkingHours night =
+        new WorkingHours(UTC, LocalTime.of(22, 0), LocalTime.of(6, 0), Arrays.asList(DayOfWeek.values()));
+    BusyMask offHours = night.compileOffHours(WINTER_MONDAY, UTC);
+
+    Assert.assertTrue(offHours.isFree(0, TimeRange.getTimeInMinutes(6, 0)));
+    Assert.assertTrue(offHours.isBusy(TimeRange.getTimeInMinutes(6, 0)));
+    Assert.assertTrue(offHours.isBusy(TimeRange.getTimeInMinutes(21, 59)));
+    Assert.assertTrue(
+        offHours.isFree(TimeRange.getTimeInMinutes(22, 0), TimeRange.WHOLE_DAY.duration()));
+  }
+
+  @Test
+  public void sharedProfilesShareMasks() {
+    profiles.setWorkingHours("Another person in London",
+        WorkingHours.weekdays(ZoneId.of("Europe/London"), NINE, FIVE));
+
+    Assert.assertSame(profiles.offHours(PERSON_LONDON, WINTER_MONDAY, UTC),
+        profiles.offHours("Another person in London", WINTER_MONDAY, UTC));
+    Assert.assertNull(profiles.offHours("Someone without hours", WINTER_MONDAY, UTC));
+  }
+
+  private Collection<TimeRange> queryOn(LocalDate day, AttendeeIndex index) {
+    return query.queryWithWorkingHours(index, profiles, request, Collections.emptyList(), day, UTC);
+  }
+}
@@ -0,0 +1,129 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarJsonTest {
+  private static final Event EVENT = new Event("Event <1>", TimeRange.fromStartDuration(480, 30),
+      Arrays.asList("Person A", "Person B"));
+
+  @Test
+  public void writesTheSameJsonAsReflection() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList("Person A", "Person B"), 30, 1);
+    request.addOptionalAttendee("Person C");
+    request.setRoomCapacity(4);
+    request.addRoomEquipment("projector");
+
+    Gson reflection = new Gson();
+    for (Object value : Arrays.asList(EVENT, EVENT.getWhen(), request)) {
+      Assert.assertEquals(JsonParser.parseString(reflection.toJson(value)),
+          JsonParser.parseString(CalendarJson.GSON.toJson(value)));
+    }
+  }
+
+  @Test
+  public void readsWhatItWrites() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList("Person A", "Person B"), 45, 2);
+    request.addOptionalAttendee("Person C");
+    request.setRoomCapacity(6);
+
+    MeetingRequest read =
+        CalendarJson.GSON.fromJson(CalendarJson.GSON.toJson(request), MeetingRequest.class);
+
+    Assert.assertEquals(EVENT,
+        CalendarJson.GSON.fromJson(CalendarJson.GSON.toJson(EVENT), Event.class));
+    Assert.assertEquals(new HashSet<>(request.getAttendees()), new HashSet<>(read.getAttendees()));
+    Assert.assertEquals(new HashSet<>(request.getOptionalAttendees()),
+        new HashSet<>(read.getOptionalAttendees()));
+    Assert.assertEquals(45, read.getDuration());
+    Assert.assertEquals(2, read.getQuorum());
+    Assert.assertEquals(6, read.getRoomCapacity());
+  }
+
+  @Test
+  public void missingFieldsTakeTheirDefaults() {
+    MeetingRequest read = CalendarJson.GSON.fromJson(
+        "{\"attendees\": [\"Person A\"], \"duration\": 30, \"unknown\": {\"a\": 1}}",
+        MeetingRequest.class);
+
+    Assert.assertEquals(Collections.singleton("Person A"), new HashSet<>(read.getAttendees()));
+    Assert.assertTrue(read.getOptionalAttendees().isEmpty());
+    Assert.assertEquals(0, read.getQuorum());
+    Assert.assertTrue(read.getRoomEquipment().isEmpty());
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void rejectsInvalidMeetingRequest() {
+    CalendarJson.GSON.fromJson("{\"attendees\": [\"Person A\"], \"quorum\": 2}",
+        MeetingRequest.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void rejectsNonIntegerDuration() {
+    CalendarJson.GSON.fromJson("{\"attendees\": [\"Person A\"], \"duration\": \"abc\"}",
+        MeetingRequest.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void rejectsEventWithoutTime() {
+    CalendarJson.GSON.fromJson("{\"title\": \"Event\", \"attendees\": []}", Event.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void rejectsTimeRangePastTheEndOfTheDay() {
+    CalendarJson.GSON.fromJson("{\"start\": 1500, \"duration\": 30}", TimeRange.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void rejectsFractionalTimeRange() {
+    CalendarJson.GSON.fromJson("{\"start\": 60, \"duration\": 1.5}", TimeRange.class);
+  }
+
+  @Test
+  public void readsTimeRangeEndingWithTheDay() {
+    Assert.assertEquals(TimeRange.fromStartDuration(1410, 30),
+        CalendarJson.GSON.fromJson("{\"start\": 1410, \"duration\": 30}", TimeRange.class));
+  }
+
+  @Test
+  public void streamsToOutputStream() throws Exception {
+    Collection<TimeRange> ranges =
+        Arrays.asList(TimeRange.fromStartDuration(0, 60), TimeRange.fromStartDuration(90, 30));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    CalendarJson.write(out, ranges);
+
+    Assert.assertEquals(CalendarJson.GSON.toJson(ranges),
+        new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
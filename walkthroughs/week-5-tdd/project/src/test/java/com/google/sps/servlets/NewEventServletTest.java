@@ -0,0 +1,85 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.servlets;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.sps.TimeRange;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class NewEventServletTest {
+  private static final String EVENT_PAST_THE_DAY =
+      "{\"title\": \"Event\", \"when\": {\"start\": 1500, \"duration\": 30}, \"attendees\": []}";
+
+  @Test
+  public void rejectsEventPastTheEndOfTheDay() throws Exception {
+    long version = QueryServlet.EVENT_STORE.snapshot().getVersion();
+    HttpServletResponse response = mock(HttpServletResponse.class);
+
+    new NewEventServlet().doPost(requestWithBody(EVENT_PAST_THE_DAY), response);
+
+    verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an event.");
+    verify(response, never()).getOutputStream();
+    Assert.assertEquals(version, QueryServlet.EVENT_STORE.snapshot().getVersion());
+  }
+
+  @Test
+  public void updateRejectsEventPastTheEndOfTheDay() throws Exception {
+    HttpServletRequest request = requestWithBody(EVENT_PAST_THE_DAY);
+    when(request.getParameter("id")).thenReturn("0");
+    HttpServletResponse response = mock(HttpServletResponse.class);
+
+    new UpdateEventServlet().doPost(request, response);
+
+    verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an event.");
+  }
+
+  @Test
+  public void acceptsEventEndingWithTheDay() throws Exception {
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+
+    new NewEventServlet().doPost(requestWithBody(
+        "{\"title\": \"Event\", \"when\": {\"start\": 1410, \"duration\": 30}, \"attendees\": []}"),
+        response);
+
+    verify(response, never()).sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an event.");
+    long id = QueryServlet.EVENT_STORE.snapshot().getEventsById().entrySet().stream()
+        .filter(entry -> entry.getValue().getWhen().equals(TimeRange.fromStartDuration(1410, 30)))
+        .findAny().get().getKey();
+    // leave the shared calendar as the other tests expect it
+    Assert.assertTrue(QueryServlet.EVENT_STORE.delete(id));
+  }
+
+  static HttpServletRequest requestWithBody(String body) throws Exception {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getReader()).thenReturn(new BufferedReader(new StringReader(body)));
+    return request;
+  }
+}
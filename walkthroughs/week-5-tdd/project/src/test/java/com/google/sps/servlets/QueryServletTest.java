@@ -0,0 +1,250 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.QueryExecutor;
+import com.google.sps.TimeRange;
+import com.google.sps.json.CalendarJson;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryServletTest {
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  @Test
+  public void queryHonorsOptionalAttendees() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList("Amelia"), 30);
+    request.addOptionalAttendee("Ava");
+
+    Collection<TimeRange> actual = new QueryServlet().query(request);
+    FindMeetingQuery query = new FindMeetingQuery();
+    Collection<TimeRange> withOptional = query.query(
+        QueryServlet.EVENT_STORE.snapshot().getIndex(), request, request.getOptionalAttendees());
+    Collection<TimeRange> withoutOptional = query.query(
+        QueryServlet.EVENT_STORE.snapshot().getIndex(), request, Collections.emptyList());
+
+    Assert.assertNotEquals(withoutOptional, withOptional);
+    Assert.assertEquals(withOptional, actual);
+  }
+
+  @Test
+  public void answersQuery() throws Exception {
+    QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 1);
+    try {
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      when(response.getOutputStream()).thenReturn(outputStream(body));
+      AsyncContext asyncContext = asyncContext(response);
+
+      new QueryServlet(executor, TIMEOUT_MILLIS).doPost(request(asyncContext), response);
+
+      verify(asyncContext, timeout(TIMEOUT_MILLIS)).complete();
+      Assert.assertEquals(CalendarJson.GSON.toJson(Arrays.asList(TimeRange.WHOLE_DAY)),
+          new String(body.toByteArray(), StandardCharsets.UTF_8));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void failedQueryAnswers500() throws Exception {
+    QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 1);
+    try {
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      AsyncContext asyncContext = asyncContext(response);
+      QueryServlet servlet = new QueryServlet(executor, TIMEOUT_MILLIS) {
+        @Override
+        Collection<TimeRange> query(MeetingRequest meetingRequest) {
+          throw new IllegalStateException("broken calendar");
+        }
+      };
+
+      servlet.doPost(request(asyncContext), response);
+
+      verify(asyncContext, timeout(TIMEOUT_MILLIS)).complete();
+      verify(response).sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+      // the worker thread survived the failure
+      Assert.assertTrue(executor.submit(() -> {}));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void fullQueueAnswers503() throws Exception {
+    QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      fill(executor, release);
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      AsyncContext asyncContext = asyncContext(response);
+
+      new QueryServlet(executor, TIMEOUT_MILLIS).doPost(request(asyncContext), response);
+
+      verify(response).setHeader("Retry-After", "1");
+      verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      verify(asyncContext).complete();
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void timeoutAnswers503() throws Exception {
+    QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 2);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      executor.submit(() -> {
+        started.countDown();
+        await(release);
+      });
+      started.await();
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      AsyncContext asyncContext = asyncContext(response);
+
+      new QueryServlet(executor, TIMEOUT_MILLIS).doPost(request(asyncContext), response);
+      listener(asyncContext).onTimeout(mock(AsyncEvent.class));
+      release.countDown();
+      // wait for the queued query to be skipped
+      CountDownLatch drained = new CountDownLatch(1);
+      Assert.assertTrue(executor.submit(drained::countDown));
+      drained.await();
+
+      verify(asyncContext).setTimeout(TIMEOUT_MILLIS);
+      verify(response).setHeader("Retry-After", "1");
+      verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      verify(asyncContext, times(1)).complete();
+      verify(response, never()).getOutputStream();
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void errorCompletesRequest() throws Exception {
+    QueryExecutor executor = new QueryExecutor(/* threads = */ 1, /* queueCapacity = */ 2);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      executor.submit(() -> {
+        started.countDown();
+        await(release);
+      });
+      started.await();
+      HttpServletResponse response = mock(HttpServletResponse.class);
+      AsyncContext asyncContext = asyncContext(response);
+
+      new QueryServlet(executor, TIMEOUT_MILLIS).doPost(request(asyncContext), response);
+      listener(asyncContext).onError(mock(AsyncEvent.class));
+      release.countDown();
+      CountDownLatch drained = new CountDownLatch(1);
+      Assert.assertTrue(executor.submit(drained::countDown));
+      drained.await();
+
+      verify(asyncContext, times(1)).complete();
+      verify(response, never()).getOutputStream();
+      verify(response, never()).sendError(anyInt());
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  /** Keeps the only thread of {@code executor} busy and its queue of 1 full until released. */
+  private static void fill(QueryExecutor executor, CountDownLatch release) throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    Assert.assertTrue(executor.submit(() -> {
+      started.countDown();
+      await(release);
+    }));
+    started.await();
+    Assert.assertTrue(executor.submit(() -> await(release)));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static HttpServletRequest request(AsyncContext asyncContext) throws Exception {
+    HttpServletRequest request = NewEventServletTest.requestWithBody(
+        "{\"attendees\": [\"Nobody at all\"], \"duration\": 30}");
+    when(request.startAsync()).thenReturn(asyncContext);
+    return request;
+  }
+
+  private static AsyncContext asyncContext(HttpServletResponse response) {
+    AsyncContext asyncContext = mock(AsyncContext.class);
+    when(asyncContext.getResponse()).thenReturn(response);
+    return asyncContext;
+  }
+
+  private static AsyncListener listener(AsyncContext asyncContext) {
+    ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext).addListener(listener.capture());
+    return listener.getValue();
+  }
+
+  private static ServletOutputStream outputStream(ByteArrayOutputStream out) {
+    return new ServletOutputStream() {
+      @Override
+      public void write(int b) {
+        out.write(b);
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setWriteListener(WriteListener writeListener) {}
+    };
+  }
+}